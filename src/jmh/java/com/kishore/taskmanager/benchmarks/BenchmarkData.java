@@ -0,0 +1,29 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kishore.taskmanager.model.Task;
+
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	static Task task(int i) {
+		Task task = new Task();
+		task.setId("00000000-0000-0000-0000-" + String.format("%012d", i));
+		task.setTitle("Task " + i);
+		task.setDescription("Benchmark task number " + i + " with a description of typical length");
+		task.setStatus(i % 2 == 0 ? "PENDING" : "DONE");
+		return task;
+	}
+
+	static List<Task> tasks(int count) {
+		List<Task> tasks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			tasks.add(task(i));
+		}
+		return tasks;
+	}
+}
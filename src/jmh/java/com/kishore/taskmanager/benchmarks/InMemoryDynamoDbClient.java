@@ -0,0 +1,55 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+/**
+ * Single-table, id-keyed DynamoDB client backed by a map, so service benchmarks measure
+ * the mapping and service code rather than the network. Unsupported operations throw.
+ * The table is emptied when it fills up, so write benchmarks run in bounded memory.
+ */
+final class InMemoryDynamoDbClient implements DynamoDbClient {
+
+	private static final int MAX_ITEMS = 100_000;
+
+	private final Map<AttributeValue, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+
+	@Override
+	public GetItemResponse getItem(GetItemRequest request) {
+		Map<String, AttributeValue> item = items.get(request.key().get("id"));
+		return item == null ? GetItemResponse.builder().build() : GetItemResponse.builder().item(item).build();
+	}
+
+	@Override
+	public PutItemResponse putItem(PutItemRequest request) {
+		if (items.size() >= MAX_ITEMS) {
+			items.clear();
+		}
+		items.put(request.item().get("id"), request.item());
+		return PutItemResponse.builder().build();
+	}
+
+	@Override
+	public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+		items.remove(request.key().get("id"));
+		return DeleteItemResponse.builder().build();
+	}
+
+	@Override
+	public String serviceName() {
+		return SERVICE_NAME;
+	}
+
+	@Override
+	public void close() {
+	}
+}
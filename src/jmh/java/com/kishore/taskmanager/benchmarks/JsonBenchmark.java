@@ -0,0 +1,74 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kishore.taskmanager.model.Task;
+
+/**
+ * Jackson (de)serialisation of a single task and of list payloads the size of
+ * {@code GET /tasks} pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+	private static final TypeReference<List<Task>> TASK_LIST = new TypeReference<>() {
+	};
+
+	@Param({ "50", "500" })
+	public int listSize;
+
+	private ObjectMapper mapper;
+	private Task task;
+	private byte[] taskJson;
+	private List<Task> tasks;
+	private byte[] tasksJson;
+
+	@Setup
+	public void setup() throws Exception {
+		mapper = new ObjectMapper();
+		task = BenchmarkData.task(1);
+		taskJson = mapper.writeValueAsBytes(task);
+		tasks = BenchmarkData.tasks(listSize);
+		tasksJson = mapper.writeValueAsBytes(tasks);
+	}
+
+	@Benchmark
+	public byte[] serializeTask() throws Exception {
+		return mapper.writeValueAsBytes(task);
+	}
+
+	@Benchmark
+	public Task deserializeTask() throws Exception {
+		return mapper.readValue(taskJson, Task.class);
+	}
+
+	@Benchmark
+	public byte[] serializeList() throws Exception {
+		return mapper.writeValueAsBytes(tasks);
+	}
+
+	@Benchmark
+	public List<Task> deserializeList() throws Exception {
+		return mapper.readValue(tasksJson, TASK_LIST);
+	}
+}
@@ -0,0 +1,72 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.serverless.proxy.internal.testutils.MockLambdaContext;
+import com.kishore.taskmanager.StreamLambdaHandler;
+import com.kishore.taskmanager.lambda.DynamoDbStubServer;
+
+/**
+ * Full {@link StreamLambdaHandler#handleRequest} round trip for a canned API Gateway
+ * {@code GET /tasks} event: proxy event parsing, Spring MVC dispatch, the service and
+ * repository, and the SDK talking to a {@link DynamoDbStubServer} on loopback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LambdaHandlerBenchmark {
+
+	private DynamoDbStubServer stub;
+	private StreamLambdaHandler handler;
+	private MockLambdaContext context;
+	private byte[] request;
+
+	@Setup
+	public void setup() throws IOException {
+		stub = DynamoDbStubServer.start();
+
+		// Must be set before the handler class initialises the Spring context.
+		System.setProperty("aws.dynamodb.endpoint", stub.endpoint().toString());
+		System.setProperty("aws.accessKeyId", "benchmark");
+		System.setProperty("aws.secretAccessKey", "benchmark");
+		System.setProperty("logging.level.EMF", "OFF");
+		System.setProperty("logging.level.com.kishore.taskmanager", "WARN");
+
+		handler = new StreamLambdaHandler();
+		context = new MockLambdaContext();
+		try (InputStream in = LambdaHandlerBenchmark.class.getResourceAsStream("/get-tasks-request.json")) {
+			request = in.readAllBytes();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		stub.close();
+	}
+
+	@Benchmark
+	public byte[] getTasks() throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream(512);
+		handler.handleRequest(new ByteArrayInputStream(request), response, context);
+		return response.toByteArray();
+	}
+}
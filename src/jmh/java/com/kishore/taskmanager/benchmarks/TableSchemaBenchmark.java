@@ -0,0 +1,59 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskSchema;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Item mapping through the static {@link TaskSchema} against the annotation-driven bean
+ * schema it replaced. {@link TableSchemaColdStartBenchmark} covers construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableSchemaBenchmark {
+
+	@Param({ "static", "bean" })
+	public String schema;
+
+	private TableSchema<Task> tableSchema;
+	private Task task;
+	private Map<String, AttributeValue> item;
+
+	@Setup
+	public void setup() {
+		tableSchema = "static".equals(schema) ? TaskSchema.INSTANCE : TableSchema.fromBean(Task.class);
+		task = BenchmarkData.task(1);
+		item = tableSchema.itemToMap(task, true);
+	}
+
+	@Benchmark
+	public Map<String, AttributeValue> itemToMap() {
+		return tableSchema.itemToMap(task, true);
+	}
+
+	@Benchmark
+	public Task mapToItem() {
+		return tableSchema.mapToItem(item);
+	}
+}
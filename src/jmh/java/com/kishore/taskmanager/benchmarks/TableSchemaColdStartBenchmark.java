@@ -0,0 +1,41 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskSchema;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+/**
+ * First table schema construction in a fresh JVM, which is what the repositories pay on
+ * the cold-start path. Every measurement is its own fork, so class loading, annotation
+ * scanning and accessor generation are all included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TableSchemaColdStartBenchmark {
+
+	@Param({ "static", "bean" })
+	public String schema;
+
+	@Benchmark
+	public TableSchema<Task> create() {
+		return "static".equals(schema) ? TaskSchema.INSTANCE : TableSchema.fromBean(Task.class);
+	}
+}
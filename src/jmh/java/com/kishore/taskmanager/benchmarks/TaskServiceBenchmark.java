@@ -0,0 +1,90 @@
+package com.kishore.taskmanager.benchmarks;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kishore.taskmanager.config.DynamoDbRateGovernor;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
+import com.kishore.taskmanager.repository.TaskCache;
+import com.kishore.taskmanager.repository.TaskRepository;
+import com.kishore.taskmanager.repository.WriteBehindBuffer;
+import com.kishore.taskmanager.service.TaskService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+
+/**
+ * {@link TaskService} create and read over the real repository and table schema, with
+ * DynamoDB replaced by {@link InMemoryDynamoDbClient}. The read cache stays disabled, as
+ * in the default configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+	private DynamoDbAsyncClient asyncClient;
+	private TaskService service;
+	private String existingId;
+
+	@Setup
+	public void setup() {
+		DynamoProperties props = new DynamoProperties();
+		TaskCache cache = new TaskCache(props);
+
+		// Only the sync path is exercised; the async client is never called.
+		asyncClient = DynamoDbAsyncClient.builder()
+				.region(Region.US_EAST_1)
+				.endpointOverride(URI.create("http://localhost:1"))
+				.credentialsProvider(AnonymousCredentialsProvider.create())
+				.httpClientBuilder(NettyNioAsyncHttpClient.builder())
+				.build();
+
+		TaskAsyncRepository asyncRepository = new TaskAsyncRepository(asyncClient, props, cache,
+				new DynamoDbRateGovernor(new SimpleMeterRegistry(), props));
+		service = new TaskService(
+				new TaskRepository(new InMemoryDynamoDbClient(), cache, new WriteBehindBuffer(asyncRepository, props),
+						props, Runnable::run, Runnable::run),
+				asyncRepository);
+		existingId = service.create(BenchmarkData.task(0)).getId();
+	}
+
+	@TearDown
+	public void tearDown() {
+		asyncClient.close();
+	}
+
+	@Benchmark
+	public Task create() {
+		Task task = new Task();
+		task.setTitle("Benchmark");
+		task.setDescription("Created by TaskServiceBenchmark");
+		task.setStatus("pending");
+		return service.create(task);
+	}
+
+	@Benchmark
+	public Task read() {
+		return service.read(existingId);
+	}
+}
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Runs the k6 load test against the standalone server twice, once on Tomcat's platform
+# thread pool and once with the "virtual" profile, and prints throughput and p99 latency
+# for each. Needs a Java 21 JDK, k6, and DynamoDB Local on :8000 with the Tasks table
+# (see docs/deployment-guide.md).
+#
+#   mvn -Pjava21 -DskipTests package && src/loadtest/compare-threading.sh
+#
+# VUS (default 1000) and DURATION (default 2m) are passed through to k6.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="${JAR:-$ROOT/target/task-manager-api-1.0.0.jar}"
+OUT="$ROOT/target/loadtest"
+PORT="${PORT:-8080}"
+mkdir -p "$OUT"
+
+run() {
+  local mode="$1" profiles="$2"
+  echo "== $mode ($profiles)"
+  java -jar "$JAR" --spring.profiles.active="$profiles" --server.port="$PORT" \
+    > "$OUT/$mode-server.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  for _ in $(seq 1 60); do
+    curl -sf "http://localhost:$PORT/actuator/health" > /dev/null && break
+    sleep 1
+  done
+
+  k6 run --quiet -e BASE_URL="http://localhost:$PORT" \
+    -e VUS="${VUS:-1000}" -e DURATION="${DURATION:-2m}" \
+    --summary-export "$OUT/$mode-summary.json" "$ROOT/src/loadtest/k6/task-load.js"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform local
+run virtual local,virtual
+
+for mode in platform virtual; do
+  jq -r --arg mode "$mode" '
+    [$mode,
+     (.metrics.http_reqs.rate | floor | tostring) + " req/s",
+     "p99 " + (.metrics.http_req_duration["p(99)"] | . * 10 | floor / 10 | tostring) + " ms",
+     "failed " + (.metrics.http_req_failed.value * 100 | . * 100 | floor / 100 | tostring) + "%"]
+    | join("  ")' "$OUT/$mode-summary.json"
+done
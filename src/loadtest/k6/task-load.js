@@ -0,0 +1,64 @@
+// Mixed read/write load against a standalone server, for comparing platform-thread and
+// virtual-thread request handling. Run through ../compare-threading.sh, or directly:
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 src/loadtest/k6/task-load.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const DURATION = __ENV.DURATION || '2m';
+const SEED_TASKS = 200;
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: 'constant-vus',
+      vus: VUS,
+      duration: DURATION,
+      gracefulStop: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  discardResponseBodies: true,
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export function setup() {
+  const ids = [];
+  for (let i = 0; i < SEED_TASKS; i++) {
+    const res = http.post(`${BASE_URL}/tasks`, JSON.stringify({
+      title: `load-${i}`,
+      description: 'k6 seed task',
+      status: 'PENDING',
+    }), Object.assign({ responseType: 'text' }, JSON_HEADERS));
+    if (res.status === 201) {
+      ids.push(res.json('id'));
+    }
+  }
+  if (ids.length === 0) {
+    throw new Error(`could not seed tasks at ${BASE_URL}`);
+  }
+  return { ids };
+}
+
+// 80% single reads, 10% status listings, 10% replaces; each is one blocking DynamoDB call.
+export default function (data) {
+  const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+  const roll = Math.random();
+
+  if (roll < 0.8) {
+    const res = http.get(`${BASE_URL}/tasks/${id}`, { tags: { name: 'GET /tasks/{id}' } });
+    check(res, { 'read 200': (r) => r.status === 200 });
+  } else if (roll < 0.9) {
+    const res = http.get(`${BASE_URL}/tasks?status=PENDING&pageSize=20`, { tags: { name: 'GET /tasks' } });
+    check(res, { 'list 200': (r) => r.status === 200 });
+  } else {
+    const res = http.put(`${BASE_URL}/tasks/${id}`, JSON.stringify({
+      title: `load-${id}`,
+      description: `updated ${Date.now()}`,
+      status: 'PENDING',
+    }), Object.assign({ tags: { name: 'PUT /tasks/{id}' } }, JSON_HEADERS));
+    check(res, { 'update 200': (r) => r.status === 200 });
+  }
+}
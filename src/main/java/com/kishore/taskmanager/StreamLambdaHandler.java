@@ -1,5 +1,7 @@
 package com.kishore.taskmanager;
 
+import org.crac.Core;
+import org.crac.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,44 +9,74 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import com.amazonaws.serverless.exceptions.ContainerInitializationException;
 import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
-import com.amazonaws.serverless.proxy.spring.SpringBootProxyHandlerBuilder;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequestContext;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.model.Headers;
+import com.amazonaws.serverless.proxy.model.MultiValuedTreeMap;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.kishore.taskmanager.lambda.LambdaContainer;
 
-public class StreamLambdaHandler implements RequestStreamHandler {
+public class StreamLambdaHandler implements RequestStreamHandler, Resource {
 	
 	private static final Logger logger = LoggerFactory.getLogger(StreamLambdaHandler.class);
 
-    private static SpringBootProxyHandlerBuilder<AwsProxyRequest> handlerBuilder;
-
-    static {
-    	
-    	long startTime = System.currentTimeMillis();
-    	
-        handlerBuilder = new SpringBootProxyHandlerBuilder<AwsProxyRequest>()
-		    .defaultProxy()
-		    .asyncInit()
-		    .springBootApplication(TaskManagerApplication.class);
-        
-        long endTime = System.currentTimeMillis();
-        
-        logger.info("Spring Boot Lambda container initialized in {} ms", (endTime - startTime));
-        
+    private static final LambdaContainer container = LambdaContainer.start(TaskManagerApplication.class);
+
+    public StreamLambdaHandler() {
+    	// With SnapStart enabled, priming runs once while the snapshot is taken.
+    	Core.getGlobalContext().register(this);
     }
 
     @Override
     public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
-        try {
-			
-        	handlerBuilder.build().proxyStream(input, output, context);
-			
-			logger.info("Handling request for function: {}", context.getFunctionName());
-			
-		} catch (IOException | ContainerInitializationException e) {
-			 e.printStackTrace();
-	         throw new RuntimeException("Could not initialize Spring Boot application", e);
-		}
+    	container.handle(input, output, context);
+    }
+
+    /**
+     * Pushes a few synthetic requests through the proxy before the snapshot so that
+     * the dispatcher, request mapping, Jackson binding and error handling are already
+     * initialised in the restored image. None of them reach DynamoDB.
+     */
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+    	long startTime = System.nanoTime();
+
+    	prime(request("GET", "/tasks/%20", null, null));
+    	prime(request("PUT", "/tasks/%20", "{\"title\":\"priming\",\"description\":\"priming\",\"status\":\"PENDING\"}", null));
+    	prime(request("POST", "/tasks/_mget", "[]", null));
+    	prime(request("GET", "/tasks", null, "0"));
+
+    	logger.info("Primed request path for snapshot in {} ms", (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+    	container.restored();
+    }
+
+    private static AwsProxyRequest request(String method, String path, String json, String pageSize) {
+    	AwsProxyRequest request = new AwsProxyRequest();
+    	request.setHttpMethod(method);
+    	request.setPath(path);
+    	request.setRequestContext(new AwsProxyRequestContext());
+    	request.setMultiValueHeaders(new Headers());
+    	if (json != null) {
+    		request.getMultiValueHeaders().putSingle("Content-Type", "application/json");
+    		request.setBody(json);
+    	}
+    	if (pageSize != null) {
+    		MultiValuedTreeMap<String, String> query = new MultiValuedTreeMap<>();
+    		query.putSingle("pageSize", pageSize);
+    		request.setMultiValueQueryStringParameters(query);
+    	}
+    	return request;
+    }
+
+    private static void prime(AwsProxyRequest request) {
+    	// No invocation is running while the snapshot is taken, so there is no Lambda context to pass.
+    	AwsProxyResponse response = container.handler().proxy(request, null);
+    	logger.debug("Priming {} {} returned {}", request.getHttpMethod(), request.getPath(), response.getStatusCode());
     }
 }
@@ -0,0 +1,39 @@
+package com.kishore.taskmanager;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.kishore.taskmanager.lambda.StatsFunctionContext;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.service.TaskStatsService;
+
+/**
+ * Entry point for the scheduled recount of the status counters. It is kept off the public
+ * API because it scans the whole {@code Tasks} table; operators can also invoke the
+ * function directly, e.g. after a {@code _batch} import.
+ */
+public class TaskStatsReconcileHandler implements RequestHandler<ScheduledEvent, TaskStats> {
+
+	private final TaskStatsService service;
+
+	public TaskStatsReconcileHandler() {
+		this(ApplicationHolder.SERVICE);
+	}
+
+	TaskStatsReconcileHandler(TaskStatsService service) {
+		this.service = service;
+	}
+
+	@Override
+	public TaskStats handleRequest(ScheduledEvent event, Context context) {
+		return service.reconcile();
+	}
+
+	/**
+	 * Starts the slim stats context on first use, once per execution environment, rather
+	 * than the whole API.
+	 */
+	private static final class ApplicationHolder {
+		static final TaskStatsService SERVICE = StatsFunctionContext.start().getBean(TaskStatsService.class);
+	}
+}
@@ -0,0 +1,41 @@
+package com.kishore.taskmanager;
+
+import java.util.Map;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.kishore.taskmanager.service.TaskService;
+
+/**
+ * One-off migration that upper-cases task statuses stored before they were normalised.
+ * Invoked by hand once after upgrading; it scans the whole {@code Tasks} table and is
+ * safe to run again. Returns the number of tasks rewritten.
+ */
+public class TaskStatusBackfillHandler implements RequestHandler<Map<String, Object>, Long> {
+
+	private final TaskService service;
+
+	public TaskStatusBackfillHandler() {
+		this(ApplicationHolder.SERVICE);
+	}
+
+	TaskStatusBackfillHandler(TaskService service) {
+		this.service = service;
+	}
+
+	@Override
+	public Long handleRequest(Map<String, Object> event, Context context) {
+		return service.normalizeStoredStatuses();
+	}
+
+	/** Starts a non-web application context on first use, once per execution environment. */
+	private static final class ApplicationHolder {
+		static final TaskService SERVICE = new SpringApplicationBuilder(TaskManagerApplication.class)
+				.web(WebApplicationType.NONE)
+				.run()
+				.getBean(TaskService.class);
+	}
+}
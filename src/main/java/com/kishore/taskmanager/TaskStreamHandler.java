@@ -0,0 +1,72 @@
+package com.kishore.taskmanager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import com.kishore.taskmanager.lambda.StatsFunctionContext;
+import com.kishore.taskmanager.model.TaskStatusChange;
+import com.kishore.taskmanager.service.TaskStreamService;
+
+/**
+ * Entry point for batches from the {@code Tasks} table's DynamoDB stream. INSERT, MODIFY
+ * and REMOVE records are reduced to status changes and applied to the status counters.
+ * A run that fails is reported as a partial batch failure, so Lambda retries from that
+ * record only; records after it that were already applied are skipped on redelivery.
+ */
+public class TaskStreamHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
+
+	private final TaskStreamService service;
+
+	public TaskStreamHandler() {
+		this(ApplicationHolder.SERVICE);
+	}
+
+	TaskStreamHandler(TaskStreamService service) {
+		this.service = service;
+	}
+
+	@Override
+	public StreamsEventResponse handleRequest(DynamodbEvent event, Context context) {
+		List<TaskStatusChange> changes = event.getRecords().stream()
+				.map(TaskStreamHandler::statusChange)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+
+		List<StreamsEventResponse.BatchItemFailure> failures = service.apply(changes)
+				.map(sequenceNumber -> List.of(new StreamsEventResponse.BatchItemFailure(sequenceNumber)))
+				.orElse(List.of());
+		return new StreamsEventResponse(failures);
+	}
+
+	/** The record's status change, or {@code null} when the status stayed the same. */
+	static TaskStatusChange statusChange(DynamodbEvent.DynamodbStreamRecord record) {
+		StreamRecord data = record.getDynamodb();
+		String oldStatus = status(data.getOldImage());
+		String newStatus = status(data.getNewImage());
+		if (Objects.equals(oldStatus, newStatus))
+			return null;
+
+		return new TaskStatusChange(record.getEventID(), data.getSequenceNumber(), oldStatus, newStatus);
+	}
+
+	private static String status(Map<String, AttributeValue> image) {
+		AttributeValue status = image == null ? null : image.get("status");
+		return status == null ? null : status.getS();
+	}
+
+	/**
+	 * Starts the slim stats context on first use, once per execution environment, rather
+	 * than the whole API.
+	 */
+	private static final class ApplicationHolder {
+		static final TaskStreamService SERVICE = StatsFunctionContext.start().getBean(TaskStreamService.class);
+	}
+}
@@ -0,0 +1,138 @@
+package com.kishore.taskmanager.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket whose rate is adjusted AIMD-style: it grows additively while calls
+ * succeed and shrinks multiplicatively when DynamoDB throttles. The bucket holds at most
+ * one second of tokens. A caller that finds the bucket empty goes into debt and is told
+ * how long to wait, so callers are served in arrival order without a queue. Once the debt
+ * is {@code max-wait} deep further callers are refused instead, so the rate holds however
+ * large the burst.
+ */
+final class AdaptiveTokenBucket {
+
+    /** Returned by {@link #reserve} when the permits are not granted. */
+    static final long REFUSED = -1;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongSupplier nanoClock;
+    private final double minRate;
+    private final double maxRate;
+    private final double increasePerSecond;
+    private final double decreaseFactor;
+    private final long cooldownNanos;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double rate;
+    private double tokens;
+    private long refilledAt;
+    private long increasedAt;
+    private long decreasedAt;
+
+    AdaptiveTokenBucket(DynamoProperties.RateLimit config, DynamoProperties.RateLimit.Budget budget,
+            LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.minRate = budget.getMinRate();
+        this.maxRate = budget.getMaxRate();
+        this.increasePerSecond = config.getIncreasePerSecond();
+        this.decreaseFactor = config.getDecreaseFactor();
+        this.cooldownNanos = config.getCooldown().toNanos();
+        this.maxWaitNanos = config.getMaxWait().toNanos();
+
+        long now = nanoClock.getAsLong();
+        this.rate = Math.max(minRate, Math.min(maxRate, budget.getInitialRate()));
+        this.tokens = rate;
+        this.refilledAt = now;
+        this.increasedAt = now;
+        this.decreasedAt = now - cooldownNanos;
+    }
+
+    /**
+     * Takes {@code permits} and returns how many nanoseconds the caller should wait before
+     * sending, or {@link #REFUSED} without taking anything if that would be longer than
+     * {@code max-wait}. A request larger than the bucket is still granted while the bucket
+     * is out of debt; its wait is capped, but its debt is kept and holds back later callers.
+     */
+    long reserve(double permits) {
+        lock.lock();
+        try {
+            refill(nanoClock.getAsLong());
+            long wait = waitNanos(tokens - permits);
+            if (wait > maxWaitNanos && tokens < 0) {
+                return REFUSED;
+            }
+            tokens -= permits;
+            return Math.min(wait, maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Gives back permits reserved for a call that was not sent. */
+    void refund(double permits) {
+        lock.lock();
+        try {
+            tokens = Math.min(rate, tokens + permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Additive increase, by the time since the last one, capped at one second's worth. */
+    void onSuccess() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            double seconds = Math.min(1.0, (now - increasedAt) / NANOS_PER_SECOND);
+            rate = Math.min(maxRate, rate + increasePerSecond * seconds);
+            increasedAt = now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Multiplicative decrease. Returns whether the rate was lowered; throttles within the
+     * cooldown of the last decrease come from the same burst and leave it alone.
+     */
+    boolean onThrottle() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (now - decreasedAt < cooldownNanos) {
+                return false;
+            }
+            refill(now);
+            rate = Math.max(minRate, rate * decreaseFactor);
+            tokens = Math.min(tokens, rate);
+            decreasedAt = now;
+            increasedAt = now;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double rate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long waitNanos(double balance) {
+        return balance >= 0 ? 0 : (long) (-balance / rate * NANOS_PER_SECOND);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(rate, tokens + (now - refilledAt) / NANOS_PER_SECOND * rate);
+        refilledAt = now;
+    }
+}
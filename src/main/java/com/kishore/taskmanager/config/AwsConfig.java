@@ -2,23 +2,73 @@ package com.kishore.taskmanager.config;
 
 import java.net.URI;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.kishore.taskmanager.metrics.DynamoDbMetrics;
+
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 
 @Configuration
 public class AwsConfig {
+
+	private static final Logger logger = LoggerFactory.getLogger(AwsConfig.class);
+
 	@Bean
-	public DynamoDbClient dynamoDbClient(DynamoProperties props) {
+	public DynamoDbClient dynamoDbClient(DynamoProperties props, DynamoDbMetrics metrics, DynamoDbRateGovernor governor) {
+		return syncClientBuilder(props)
+				.overrideConfiguration(overrideConfiguration(props.getHttp(), metrics, governor))
+				.build();
+	}
+
+	/** Synchronous client with the configured region, endpoint and HTTP client, but no interceptors. */
+	public static DynamoDbClientBuilder syncClientBuilder(DynamoProperties props) {
+		DynamoProperties.Http http = props.getHttp();
 
-		System.out.println("🔧 DynamoDB Endpoint: " + props.getEndpoint());
-		System.out.println("🔧 DynamoDB Region: " + props.getRegion());
+		logger.info("DynamoDB endpoint={}, region={}, httpClient={}", props.getEndpoint(), props.getRegion(), http.getClient());
 
 		DynamoDbClientBuilder builder = DynamoDbClient.builder()
-				.region(Region.of(props.getRegion()));
+				.region(Region.of(props.getRegion()))
+				.httpClientBuilder(httpClientBuilder(http));
+
+		if (props.getEndpoint() != null && !props.getEndpoint().isBlank()) {
+			builder.endpointOverride(URI.create(props.getEndpoint()));
+		}
+
+		return builder;
+	}
+
+	/**
+	 * Non-blocking client for fan-out calls. Requests are multiplexed over Netty's
+	 * event loop, so concurrency is bounded by connections rather than threads.
+	 */
+	@Bean
+	public DynamoDbAsyncClient dynamoDbAsyncClient(DynamoProperties props, DynamoDbMetrics metrics,
+			DynamoDbRateGovernor governor) {
+		DynamoProperties.Http http = props.getHttp();
+
+		DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+				.region(Region.of(props.getRegion()))
+				.httpClientBuilder(NettyNioAsyncHttpClient.builder()
+						.maxConcurrency(props.getMaxConcurrency())
+						.connectionTimeout(http.getConnectionTimeout())
+						.connectionTimeToLive(http.getConnectionTtl())
+						.connectionMaxIdleTime(http.getConnectionMaxIdleTime())
+						.tcpKeepAlive(http.isTcpKeepAlive()))
+				.overrideConfiguration(overrideConfiguration(http, metrics, governor));
 
 		if (props.getEndpoint() != null && !props.getEndpoint().isBlank()) {
 			builder.endpointOverride(URI.create(props.getEndpoint()));
@@ -26,4 +76,56 @@ public class AwsConfig {
 
 		return builder.build();
 	}
+
+	/**
+	 * Builder for the configured synchronous HTTP client. Several implementations are on
+	 * the classpath, so every sync client must be given one explicitly. Each is given only
+	 * the settings it supports: URL connection has no pool, and CRT has no socket timeout
+	 * or connection TTL but takes its own keep-alive interval and timeout.
+	 */
+	public static SdkHttpClient.Builder<?> httpClientBuilder(DynamoProperties.Http http) {
+		switch (http.getClient()) {
+		case URL_CONNECTION:
+			return UrlConnectionHttpClient.builder()
+					.connectionTimeout(http.getConnectionTimeout())
+					.socketTimeout(http.getSocketTimeout());
+		case CRT:
+			AwsCrtHttpClient.Builder crt = AwsCrtHttpClient.builder()
+					.maxConcurrency(http.getMaxConnections())
+					.connectionTimeout(http.getConnectionTimeout())
+					.connectionMaxIdleTime(http.getConnectionMaxIdleTime());
+			if (http.isTcpKeepAlive()) {
+				crt.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+						.keepAliveInterval(http.getTcpKeepAliveInterval())
+						.keepAliveTimeout(http.getTcpKeepAliveTimeout())
+						.build());
+			}
+			return crt;
+		case APACHE:
+		default:
+			return ApacheHttpClient.builder()
+					.maxConnections(http.getMaxConnections())
+					.connectionTimeout(http.getConnectionTimeout())
+					.socketTimeout(http.getSocketTimeout())
+					.connectionTimeToLive(http.getConnectionTtl())
+					.connectionMaxIdleTime(http.getConnectionMaxIdleTime())
+					.tcpKeepAlive(http.isTcpKeepAlive());
+		}
+	}
+
+	/**
+	 * Timeouts, metrics and throttle handling. The governor is added after the metrics
+	 * interceptor, so time a sync call spends waiting for tokens counts towards the recorded
+	 * latency. It does not pace the async client, whose callers pace themselves.
+	 */
+	private static ClientOverrideConfiguration overrideConfiguration(DynamoProperties.Http http, DynamoDbMetrics metrics,
+			DynamoDbRateGovernor governor) {
+		return ClientOverrideConfiguration.builder()
+				.apiCallTimeout(http.getApiCallTimeout())
+				.apiCallAttemptTimeout(http.getApiCallAttemptTimeout())
+				.retryPolicy(governor.retryPolicy())
+				.addExecutionInterceptor(metrics)
+				.addExecutionInterceptor(governor)
+				.build();
+	}
 }
@@ -0,0 +1,52 @@
+package com.kishore.taskmanager.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gzip compression of API responses. Applied by a servlet filter rather than by the
+ * embedded server, so it behaves the same behind the Lambda proxy as under Tomcat.
+ */
+@Component
+@ConfigurationProperties(prefix = "compression")
+public class CompressionProperties {
+    private boolean enabled = true;
+    /** Smaller bodies are sent as they are; gzip gains little and costs CPU on both ends. */
+    private int minResponseSize = 1024;
+    private List<String> mimeTypes = List.of("application/json");
+    /**
+     * Streaming endpoints, which must not be buffered to be compressed. Ant-style patterns
+     * such as {@code /reports/**}, matched against the path within the application.
+     */
+    private List<String> excludedPaths = List.of("/tasks/export");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinResponseSize() {
+        return minResponseSize;
+    }
+    public void setMinResponseSize(int minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+}
@@ -0,0 +1,87 @@
+package com.kishore.taskmanager.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@Configuration
+public class ConcurrencyConfig {
+
+	/**
+	 * Executor for parallel scan segments. Tasks run with the originating request bound, so
+	 * their DynamoDB metrics are attributed to its endpoint.
+	 * <p>
+	 * By default this is a bounded pool: its size caps how many segments run at once
+	 * across all requests, which keeps thread and memory use predictable inside a Lambda
+	 * container. With {@code spring.threads.virtual.enabled} on Java 21 each segment gets
+	 * its own virtual thread instead, limited only by the sync client's connection pool,
+	 * which is what a blocked segment is waiting for.
+	 */
+	@Bean
+	public AsyncTaskExecutor scanExecutor(DynamoProperties props, Environment environment) {
+		if (Threading.VIRTUAL.isActive(environment)) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dynamodb-scan-");
+			executor.setVirtualThreads(true);
+			executor.setConcurrencyLimit(props.getHttp().getMaxConnections());
+			executor.setTaskDecorator(ConcurrencyConfig::withRequestAttributes);
+			return executor;
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(props.getScanThreads());
+		executor.setMaxPoolSize(props.getScanThreads());
+		executor.setThreadNamePrefix("dynamodb-scan-");
+		executor.setDaemon(true);
+		executor.setTaskDecorator(ConcurrencyConfig::withRequestAttributes);
+		return executor;
+	}
+
+	/**
+	 * Executor for the per-task writes of a {@code _batch} while status counters are
+	 * transactional. It is kept apart from {@link #scanExecutor} so a large batch cannot
+	 * queue up in front of scan segments. Its queue is bounded: once it is full, the
+	 * submitting request thread writes the task itself, which slows that request down
+	 * instead of piling up work. Scan segments cannot do that, since the thread that
+	 * submits them is the one consuming their pages.
+	 */
+	@Bean
+	public AsyncTaskExecutor countedWriteExecutor(DynamoProperties props, Environment environment) {
+		if (Threading.VIRTUAL.isActive(environment)) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dynamodb-counted-write-");
+			executor.setVirtualThreads(true);
+			executor.setConcurrencyLimit(props.getHttp().getMaxConnections());
+			executor.setTaskDecorator(ConcurrencyConfig::withRequestAttributes);
+			return executor;
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(props.getStats().getWriteThreads());
+		executor.setMaxPoolSize(props.getStats().getWriteThreads());
+		executor.setQueueCapacity(props.getStats().getWriteQueueCapacity());
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setThreadNamePrefix("dynamodb-counted-write-");
+		executor.setDaemon(true);
+		executor.setTaskDecorator(ConcurrencyConfig::withRequestAttributes);
+		return executor;
+	}
+
+	private static Runnable withRequestAttributes(Runnable task) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		return () -> {
+			RequestContextHolder.setRequestAttributes(attributes);
+			try {
+				task.run();
+			} finally {
+				RequestContextHolder.resetRequestAttributes();
+			}
+		};
+	}
+}
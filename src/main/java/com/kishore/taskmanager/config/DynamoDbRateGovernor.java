@@ -0,0 +1,321 @@
+package com.kishore.taskmanager.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.kishore.taskmanager.exceptionhandling.RateLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ClientType;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Throttle-aware pacing of DynamoDB calls, shared by the sync and async clients.
+ * <p>
+ * Each call takes tokens from one {@link AdaptiveTokenBucket} per table or index and per
+ * budget, reads or writes. On the sync client this interceptor does that and sleeps when
+ * they run out. Async calls must not block an SDK thread, so the interceptor leaves them
+ * alone and callers of the async client {@link #pace pace} each call themselves, which
+ * delays it on a timer instead. A call that would wait longer than {@code max-wait} is
+ * refused with {@link RateLimitExceededException}.
+ * <p>
+ * The {@link #retryPolicy() retry policy} sees every failed attempt of both clients: a
+ * throttling error lowers the rate of the buckets the call drew from, and each success
+ * raises it again. Each container thus backs off on its own as soon as DynamoDB pushes
+ * back, instead of every container retrying at full speed.
+ * <p>
+ * Throttled attempts are counted whether or not the limiter is enabled:
+ * <ul>
+ * <li>{@code dynamodb.throttled.attempts}: attempts rejected with a throttling error</li>
+ * <li>{@code dynamodb.ratelimit.rate}: current rate of each bucket, requests per second</li>
+ * <li>{@code dynamodb.ratelimit.decreases}: times a bucket's rate was cut</li>
+ * <li>{@code dynamodb.ratelimit.wait}: time calls waited for tokens</li>
+ * <li>{@code dynamodb.ratelimit.refused}: calls refused for waiting too long</li>
+ * </ul>
+ */
+@Component
+public class DynamoDbRateGovernor implements ExecutionInterceptor {
+
+    public enum Budget {
+        READ, WRITE
+    }
+
+    record BucketKey(String table, String index, Budget budget) {
+        Tags tags() {
+            return Tags.of("table", table, "index", index == null ? "none" : index,
+                "budget", budget.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final DynamoProperties.RateLimit config;
+    private final DynamoProperties.Retry retry;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<BucketKey, AdaptiveTokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DynamoDbRateGovernor(MeterRegistry registry, DynamoProperties props) {
+        this(registry, props, System::nanoTime);
+    }
+
+    DynamoDbRateGovernor(MeterRegistry registry, DynamoProperties props, LongSupplier nanoClock) {
+        this.registry = registry;
+        this.config = props.getRateLimit();
+        this.retry = props.getRetry();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * The configured SDK retry mode with full-jitter backoff, plus a retry condition that
+     * reports each attempt's outcome to the buckets. Whether to retry is still decided by
+     * the SDK's default condition.
+     */
+    public RetryPolicy retryPolicy() {
+        return RetryPolicy.builder(RetryMode.valueOf(retry.getMode().name()))
+            .numRetries(retry.getMaxRetries())
+            .backoffStrategy(FullJitterBackoffStrategy.builder()
+                .baseDelay(retry.getBaseDelay())
+                .maxBackoffTime(retry.getMaxBackoff())
+                .build())
+            .throttlingBackoffStrategy(FullJitterBackoffStrategy.builder()
+                .baseDelay(retry.getThrottleBaseDelay())
+                .maxBackoffTime(retry.getMaxBackoff())
+                .build())
+            .retryCondition(new ObservingRetryCondition(RetryCondition.defaultRetryCondition()))
+            .build();
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        if (!config.isEnabled() || attributes.getAttribute(SdkExecutionAttribute.CLIENT_TYPE) == ClientType.ASYNC) {
+            return;
+        }
+
+        long waitNanos = reserve(demand(context.request()));
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Completes once an async call needing {@code permits} tokens of the table's budget
+     * may be sent, without blocking a thread, or fails with
+     * {@link RateLimitExceededException} if it would wait longer than {@code max-wait}.
+     */
+    public CompletableFuture<Void> pace(String table, Budget budget, int permits) {
+        return pace(Map.of(new BucketKey(table, null, budget), permits));
+    }
+
+    /** {@link #pace(String, Budget, int)} for the tokens {@code request} needs. */
+    public CompletableFuture<Void> pace(SdkRequest request) {
+        return pace(demand(request));
+    }
+
+    private CompletableFuture<Void> pace(Map<BucketKey, Integer> demand) {
+        if (!config.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long waitNanos;
+        try {
+            waitNanos = reserve(demand);
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { },
+            CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Takes every bucket's tokens and returns the wait of the slowest. If one bucket
+     * refuses, the tokens already taken are given back and the call is refused.
+     */
+    private long reserve(Map<BucketKey, Integer> demand) {
+        long waitNanos = 0;
+        BucketKey slowest = null;
+        Map<BucketKey, Integer> taken = new HashMap<>();
+        for (Map.Entry<BucketKey, Integer> entry : demand.entrySet()) {
+            long wait = bucket(entry.getKey()).reserve(entry.getValue());
+            if (wait == AdaptiveTokenBucket.REFUSED) {
+                taken.forEach((key, permits) -> bucket(key).refund(permits));
+                Counter.builder("dynamodb.ratelimit.refused").tags(entry.getKey().tags()).register(registry).increment();
+                throw new RateLimitExceededException(entry.getKey().table());
+            }
+            taken.put(entry.getKey(), entry.getValue());
+            if (wait > waitNanos) {
+                waitNanos = wait;
+                slowest = entry.getKey();
+            }
+        }
+        if (slowest != null) {
+            Timer.builder("dynamodb.ratelimit.wait").tags(slowest.tags()).register(registry)
+                .record(Duration.ofNanos(waitNanos));
+        }
+        return waitNanos;
+    }
+
+    /** Current rate of a bucket, or {@code NaN} if no call has used it yet. */
+    double rate(BucketKey key) {
+        AdaptiveTokenBucket bucket = buckets.get(key);
+        return bucket == null ? Double.NaN : bucket.rate();
+    }
+
+    private void onThrottle(SdkRequest request) {
+        for (BucketKey key : demand(request).keySet()) {
+            Counter.builder("dynamodb.throttled.attempts").tags(key.tags()).register(registry).increment();
+            if (config.isEnabled() && bucket(key).onThrottle()) {
+                Counter.builder("dynamodb.ratelimit.decreases").tags(key.tags()).register(registry).increment();
+            }
+        }
+    }
+
+    private void onSuccess(SdkRequest request) {
+        if (config.isEnabled()) {
+            demand(request).keySet().forEach(key -> bucket(key).onSuccess());
+        }
+    }
+
+    private AdaptiveTokenBucket bucket(BucketKey key) {
+        return buckets.computeIfAbsent(key, k -> {
+            AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(config,
+                k.budget() == Budget.READ ? config.getReads() : config.getWrites(), nanoClock);
+            Gauge.builder("dynamodb.ratelimit.rate", bucket, AdaptiveTokenBucket::rate)
+                .tags(k.tags())
+                .baseUnit("requests.per.second")
+                .register(registry);
+            return bucket;
+        });
+    }
+
+    /**
+     * Tokens a request needs from each bucket: one per item for batches and transactions,
+     * otherwise one. Calls that touch no table data, such as DescribeTable, need none.
+     */
+    static Map<BucketKey, Integer> demand(SdkRequest request) {
+        Map<BucketKey, Integer> demand = new HashMap<>();
+        if (request instanceof GetItemRequest r) {
+            demand.put(new BucketKey(r.tableName(), null, Budget.READ), 1);
+        } else if (request instanceof QueryRequest r) {
+            demand.put(new BucketKey(r.tableName(), r.indexName(), Budget.READ), 1);
+        } else if (request instanceof ScanRequest r) {
+            demand.put(new BucketKey(r.tableName(), r.indexName(), Budget.READ), 1);
+        } else if (request instanceof PutItemRequest r) {
+            demand.put(new BucketKey(r.tableName(), null, Budget.WRITE), 1);
+        } else if (request instanceof UpdateItemRequest r) {
+            demand.put(new BucketKey(r.tableName(), null, Budget.WRITE), 1);
+        } else if (request instanceof DeleteItemRequest r) {
+            demand.put(new BucketKey(r.tableName(), null, Budget.WRITE), 1);
+        } else if (request instanceof BatchGetItemRequest r) {
+            r.requestItems().forEach((table, keys) ->
+                demand.put(new BucketKey(table, null, Budget.READ), Math.max(1, keys.keys().size())));
+        } else if (request instanceof BatchWriteItemRequest r) {
+            r.requestItems().forEach((table, writes) ->
+                demand.put(new BucketKey(table, null, Budget.WRITE), Math.max(1, writes.size())));
+        } else if (request instanceof TransactGetItemsRequest r) {
+            for (TransactGetItem item : r.transactItems()) {
+                demand.merge(new BucketKey(item.get().tableName(), null, Budget.READ), 1, Integer::sum);
+            }
+        } else if (request instanceof TransactWriteItemsRequest r) {
+            for (TransactWriteItem item : r.transactItems()) {
+                demand.merge(new BucketKey(tableName(item), null, Budget.WRITE), 1, Integer::sum);
+            }
+        }
+        demand.keySet().removeIf(key -> key.table() == null);
+        return demand;
+    }
+
+    private static String tableName(TransactWriteItem item) {
+        if (item.put() != null) {
+            return item.put().tableName();
+        }
+        if (item.update() != null) {
+            return item.update().tableName();
+        }
+        if (item.delete() != null) {
+            return item.delete().tableName();
+        }
+        return item.conditionCheck() == null ? null : item.conditionCheck().tableName();
+    }
+
+    private static boolean isThrottle(RetryPolicyContext context) {
+        return context.exception() instanceof AwsServiceException e && e.isThrottlingException();
+    }
+
+    /**
+     * Delegates the retry decision and reports attempt outcomes. The SDK asks
+     * {@code shouldRetry} about attempts that may still be retried and calls
+     * {@code requestWillNotBeRetried} for the last one, so each failed attempt is seen once.
+     */
+    private final class ObservingRetryCondition implements RetryCondition {
+
+        private final RetryCondition delegate;
+
+        ObservingRetryCondition(RetryCondition delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean shouldRetry(RetryPolicyContext context) {
+            if (isThrottle(context)) {
+                onThrottle(context.originalRequest());
+            }
+            return delegate.shouldRetry(context);
+        }
+
+        @Override
+        public void requestWillNotBeRetried(RetryPolicyContext context) {
+            if (isThrottle(context) && context.retriesAttempted() >= retry.getMaxRetries()) {
+                onThrottle(context.originalRequest());
+            }
+            delegate.requestWillNotBeRetried(context);
+        }
+
+        @Override
+        public void requestSucceeded(RetryPolicyContext context) {
+            onSuccess(context.originalRequest());
+            delegate.requestSucceeded(context);
+        }
+    }
+}
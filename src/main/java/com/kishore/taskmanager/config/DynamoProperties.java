@@ -1,5 +1,7 @@
 package com.kishore.taskmanager.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -8,6 +10,26 @@ import org.springframework.stereotype.Component;
 public class DynamoProperties {
     private String endpoint;
     private String region;
+    /** Upper bound on requests the async client keeps in flight at once. */
+    private int maxConcurrency = 50;
+    /** Attempts per BatchWriteItem/BatchGetItem chunk, including retries of unprocessed items. */
+    private int batchMaxAttempts = 5;
+    /** Number of segments a full-table scan is split into. */
+    private int scanSegments = 4;
+    /** Threads shared by all parallel scans; segments beyond this wait their turn. */
+    private int scanThreads = 8;
+    /** Also write DynamoDB call metrics as CloudWatch EMF log lines; meant for Lambda. */
+    private boolean emfMetrics = false;
+    /** Let concurrent reads of the same task share one in-flight GetItem. */
+    private boolean coalesceReads = true;
+    private final Cache cache = new Cache();
+    private final Http http = new Http();
+    private final WriteBehind writeBehind = new WriteBehind();
+    private final Bulk bulk = new Bulk();
+    private final Stats stats = new Stats();
+    private final Idempotency idempotency = new Idempotency();
+    private final Retry retry = new Retry();
+    private final RateLimit rateLimit = new RateLimit();
 
     public String getEndpoint() {
         return endpoint;
@@ -22,4 +44,578 @@ public class DynamoProperties {
     public void setRegion(String region) {
         this.region = region;
     }
-}
\ No newline at end of file
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getBatchMaxAttempts() {
+        return batchMaxAttempts;
+    }
+    public void setBatchMaxAttempts(int batchMaxAttempts) {
+        this.batchMaxAttempts = batchMaxAttempts;
+    }
+
+    public int getScanSegments() {
+        return scanSegments;
+    }
+    public void setScanSegments(int scanSegments) {
+        this.scanSegments = scanSegments;
+    }
+
+    public int getScanThreads() {
+        return scanThreads;
+    }
+    public void setScanThreads(int scanThreads) {
+        this.scanThreads = scanThreads;
+    }
+
+    public boolean isEmfMetrics() {
+        return emfMetrics;
+    }
+    public void setEmfMetrics(boolean emfMetrics) {
+        this.emfMetrics = emfMetrics;
+    }
+
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Read-through cache for single-task reads. It lives in the application context,
+     * so on Lambda it survives across warm invocations of the same container.
+     */
+    public static class Cache {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        /** How long a stored task is served from the cache. */
+        private Duration ttl = Duration.ofSeconds(30);
+        /** How long a lookup for a missing task is remembered. */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+        public void setNegativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+    }
+
+    /**
+     * HTTP client behind the synchronous DynamoDB client, plus the call timeouts applied
+     * to both clients. Pool settings that a client type does not support are ignored.
+     */
+    public static class Http {
+        public enum ClientType {
+            /** Pooled, full featured; the SDK default. */
+            APACHE,
+            /** JDK HttpURLConnection; smallest and quickest to start, no pool settings. */
+            URL_CONNECTION,
+            /** AWS Common Runtime; pooled native client with fast startup. */
+            CRT
+        }
+
+        private ClientType client = ClientType.APACHE;
+        private int maxConnections = 50;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+        private Duration socketTimeout = Duration.ofSeconds(5);
+        /** Maximum lifetime of a pooled connection, so DNS changes are picked up. */
+        private Duration connectionTtl = Duration.ofMinutes(1);
+        private Duration connectionMaxIdleTime = Duration.ofSeconds(30);
+        private boolean tcpKeepAlive = true;
+        /** CRT only: idle time before the first keep-alive probe, and between probes. */
+        private Duration tcpKeepAliveInterval = Duration.ofSeconds(60);
+        /** CRT only: how long a probe may go unanswered before the connection is dropped. */
+        private Duration tcpKeepAliveTimeout = Duration.ofSeconds(5);
+        /** Overall budget for one SDK call, including retries. */
+        private Duration apiCallTimeout = Duration.ofSeconds(10);
+        /** Budget for a single HTTP attempt of an SDK call. */
+        private Duration apiCallAttemptTimeout = Duration.ofSeconds(3);
+
+        public ClientType getClient() {
+            return client;
+        }
+        public void setClient(ClientType client) {
+            this.client = client;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public Duration getSocketTimeout() {
+            return socketTimeout;
+        }
+        public void setSocketTimeout(Duration socketTimeout) {
+            this.socketTimeout = socketTimeout;
+        }
+
+        public Duration getConnectionTtl() {
+            return connectionTtl;
+        }
+        public void setConnectionTtl(Duration connectionTtl) {
+            this.connectionTtl = connectionTtl;
+        }
+
+        public Duration getConnectionMaxIdleTime() {
+            return connectionMaxIdleTime;
+        }
+        public void setConnectionMaxIdleTime(Duration connectionMaxIdleTime) {
+            this.connectionMaxIdleTime = connectionMaxIdleTime;
+        }
+
+        public boolean isTcpKeepAlive() {
+            return tcpKeepAlive;
+        }
+        public void setTcpKeepAlive(boolean tcpKeepAlive) {
+            this.tcpKeepAlive = tcpKeepAlive;
+        }
+
+        public Duration getTcpKeepAliveInterval() {
+            return tcpKeepAliveInterval;
+        }
+        public void setTcpKeepAliveInterval(Duration tcpKeepAliveInterval) {
+            this.tcpKeepAliveInterval = tcpKeepAliveInterval;
+        }
+
+        public Duration getTcpKeepAliveTimeout() {
+            return tcpKeepAliveTimeout;
+        }
+        public void setTcpKeepAliveTimeout(Duration tcpKeepAliveTimeout) {
+            this.tcpKeepAliveTimeout = tcpKeepAliveTimeout;
+        }
+
+        public Duration getApiCallTimeout() {
+            return apiCallTimeout;
+        }
+        public void setApiCallTimeout(Duration apiCallTimeout) {
+            this.apiCallTimeout = apiCallTimeout;
+        }
+
+        public Duration getApiCallAttemptTimeout() {
+            return apiCallAttemptTimeout;
+        }
+        public void setApiCallAttemptTimeout(Duration apiCallAttemptTimeout) {
+            this.apiCallAttemptTimeout = apiCallAttemptTimeout;
+        }
+    }
+
+    /**
+     * Buffer for task updates sent with {@code Prefer: respond-async}. Off by default,
+     * in which case those updates are written synchronously.
+     */
+    public static class WriteBehind {
+        private boolean enabled = false;
+        /** Distinct tasks that may wait in the buffer before writers are held back. */
+        private int capacity = 1_000;
+        /** Number of waiting tasks that triggers a flush without waiting for the interval. */
+        private int batchSize = 25;
+        private Duration flushInterval = Duration.ofMillis(100);
+        /** How long a writer waits for room in a full buffer before writing synchronously. */
+        private Duration offerTimeout = Duration.ofMillis(50);
+        /** Flushes a buffered task is included in before it is dropped. */
+        private int maxAttempts = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getOfferTimeout() {
+            return offerTimeout;
+        }
+        public void setOfferTimeout(Duration offerTimeout) {
+            this.offerTimeout = offerTimeout;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    /**
+     * Limits for bulk deletes and status transitions. A run stops at the time budget,
+     * or earlier when the Lambda invocation would otherwise time out, and hands back a
+     * token to resume from.
+     */
+    public static class Bulk {
+        /** Keys read from the status index and written per wave. */
+        private int waveSize = 100;
+        /** Cap on tasks written per second; zero or less means uncapped. */
+        private int maxItemsPerSecond = 500;
+        private Duration timeBudget = Duration.ofSeconds(20);
+        /** Time left unused before the Lambda deadline, to write the response. */
+        private Duration safetyMargin = Duration.ofSeconds(2);
+
+        public int getWaveSize() {
+            return waveSize;
+        }
+        public void setWaveSize(int waveSize) {
+            this.waveSize = waveSize;
+        }
+
+        public int getMaxItemsPerSecond() {
+            return maxItemsPerSecond;
+        }
+        public void setMaxItemsPerSecond(int maxItemsPerSecond) {
+            this.maxItemsPerSecond = maxItemsPerSecond;
+        }
+
+        public Duration getTimeBudget() {
+            return timeBudget;
+        }
+        public void setTimeBudget(Duration timeBudget) {
+            this.timeBudget = timeBudget;
+        }
+
+        public Duration getSafetyMargin() {
+            return safetyMargin;
+        }
+        public void setSafetyMargin(Duration safetyMargin) {
+            this.safetyMargin = safetyMargin;
+        }
+    }
+
+    /**
+     * Per-status task counters in the {@code TaskStats} table, served by
+     * {@code GET /tasks/stats}.
+     */
+    public static class Stats {
+        public enum Maintenance {
+            /** Counters are not kept; the stats endpoints are unavailable. */
+            NONE,
+            /** Single-task writes adjust the counters in the same transaction. */
+            TRANSACTIONAL,
+            /** The DynamoDB Streams consumer adjusts the counters for every write path. */
+            STREAM
+        }
+
+        private Maintenance maintenance = Maintenance.NONE;
+        /** Tries of a counter write when the task or a counter changed concurrently. */
+        private int writeAttempts = 3;
+        /** Threads writing {@code _batch} tasks one transaction at a time. */
+        private int writeThreads = 8;
+        /** Counted writes that may wait for a thread; beyond that the request's thread writes them. */
+        private int writeQueueCapacity = 100;
+
+        public Maintenance getMaintenance() {
+            return maintenance;
+        }
+        public void setMaintenance(Maintenance maintenance) {
+            this.maintenance = maintenance;
+        }
+
+        public int getWriteAttempts() {
+            return writeAttempts;
+        }
+        public void setWriteAttempts(int writeAttempts) {
+            this.writeAttempts = writeAttempts;
+        }
+
+        public int getWriteThreads() {
+            return writeThreads;
+        }
+        public void setWriteThreads(int writeThreads) {
+            this.writeThreads = writeThreads;
+        }
+
+        public int getWriteQueueCapacity() {
+            return writeQueueCapacity;
+        }
+        public void setWriteQueueCapacity(int writeQueueCapacity) {
+            this.writeQueueCapacity = writeQueueCapacity;
+        }
+    }
+
+    /**
+     * {@code Idempotency-Key} handling for {@code POST /tasks}. Keys are stored in the
+     * {@code TaskIdempotencyKeys} table for {@code ttl}; recently seen keys are also
+     * kept in a local cache so repeats to the same container skip DynamoDB entirely.
+     */
+    public static class Idempotency {
+        /** How long a key is remembered; a retry after this creates a new task. */
+        private Duration ttl = Duration.ofHours(24);
+        /**
+         * How long a claim is held before its create completes. A claim left behind by a
+         * container that died mid-create can be taken over after this.
+         */
+        private Duration claimTimeout = Duration.ofMinutes(1);
+        private long localCacheSize = 10_000;
+        private Duration localCacheTtl = Duration.ofMinutes(10);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getClaimTimeout() {
+            return claimTimeout;
+        }
+        public void setClaimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+
+        public long getLocalCacheSize() {
+            return localCacheSize;
+        }
+        public void setLocalCacheSize(long localCacheSize) {
+            this.localCacheSize = localCacheSize;
+        }
+
+        public Duration getLocalCacheTtl() {
+            return localCacheTtl;
+        }
+        public void setLocalCacheTtl(Duration localCacheTtl) {
+            this.localCacheTtl = localCacheTtl;
+        }
+    }
+
+    /**
+     * SDK retry policy of both clients. Backoff uses full jitter, so containers retrying
+     * the same throttled table spread out instead of retrying in step.
+     */
+    public static class Retry {
+        public enum Mode {
+            /** The SDK's original policy. */
+            LEGACY,
+            /** Exponential backoff with a shared retry quota. */
+            STANDARD,
+            /** STANDARD plus a client-wide send rate that backs off when throttled. */
+            ADAPTIVE
+        }
+
+        private Mode mode = Mode.ADAPTIVE;
+        private int maxRetries = 3;
+        private Duration baseDelay = Duration.ofMillis(25);
+        /** Base delay after a throttling error; longer, since capacity needs time to recover. */
+        private Duration throttleBaseDelay = Duration.ofMillis(250);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        public Mode getMode() {
+            return mode;
+        }
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getBaseDelay() {
+            return baseDelay;
+        }
+        public void setBaseDelay(Duration baseDelay) {
+            this.baseDelay = baseDelay;
+        }
+
+        public Duration getThrottleBaseDelay() {
+            return throttleBaseDelay;
+        }
+        public void setThrottleBaseDelay(Duration throttleBaseDelay) {
+            this.throttleBaseDelay = throttleBaseDelay;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    /**
+     * Client-side token buckets, one per table or index and per budget (reads, writes).
+     * Each bucket's rate grows by {@code increase-per-second} while calls succeed and is
+     * multiplied by {@code decrease-factor} on a throttling error, at most once per
+     * {@code cooldown}. Calls wait up to {@code max-wait} for tokens; a call that would
+     * wait longer is refused with a 503.
+     */
+    public static class RateLimit {
+        private boolean enabled = false;
+        private final Budget reads = new Budget(500, 4000);
+        private final Budget writes = new Budget(200, 1000);
+        /** Requests per second added to a bucket's rate for each second without throttling. */
+        private double increasePerSecond = 10;
+        private double decreaseFactor = 0.5;
+        /** Throttles within this time of a decrease belong to the same burst and are not counted again. */
+        private Duration cooldown = Duration.ofSeconds(1);
+        private Duration maxWait = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Budget getReads() {
+            return reads;
+        }
+
+        public Budget getWrites() {
+            return writes;
+        }
+
+        public double getIncreasePerSecond() {
+            return increasePerSecond;
+        }
+        public void setIncreasePerSecond(double increasePerSecond) {
+            this.increasePerSecond = increasePerSecond;
+        }
+
+        public double getDecreaseFactor() {
+            return decreaseFactor;
+        }
+        public void setDecreaseFactor(double decreaseFactor) {
+            this.decreaseFactor = decreaseFactor;
+        }
+
+        public Duration getCooldown() {
+            return cooldown;
+        }
+        public void setCooldown(Duration cooldown) {
+            this.cooldown = cooldown;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        /** Requests per second, counted per item for batches and transactions. */
+        public static class Budget {
+            private double initialRate;
+            private double minRate = 5;
+            private double maxRate;
+
+            Budget(double initialRate, double maxRate) {
+                this.initialRate = initialRate;
+                this.maxRate = maxRate;
+            }
+
+            public double getInitialRate() {
+                return initialRate;
+            }
+            public void setInitialRate(double initialRate) {
+                this.initialRate = initialRate;
+            }
+
+            public double getMinRate() {
+                return minRate;
+            }
+            public void setMinRate(double minRate) {
+                this.minRate = minRate;
+            }
+
+            public double getMaxRate() {
+                return maxRate;
+            }
+            public void setMaxRate(double maxRate) {
+                this.maxRate = maxRate;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.kishore.taskmanager.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gzips response bodies of at least {@code minResponseSize} bytes for clients that accept
+ * it. The body is buffered, compressed and sent with {@code Content-Encoding: gzip}; behind
+ * the Lambda proxy the compressed bytes go back base64-encoded, which API Gateway decodes
+ * for the binary media types configured in {@code template.yaml}.
+ * <p>
+ * The gzipped body is a different representation, so its ETag gets a {@code -gzip}
+ * suffix. The suffix is stripped from {@code If-None-Match} before the controller
+ * compares it, so either form revalidates, and a 304 echoes the form the client sent.
+ * Every response outside {@code excludedPaths} (Ant-style patterns, matched against the
+ * path within the application) carries {@code Vary: Accept-Encoding}.
+ */
+public class GzipResponseFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-" + GZIP;
+
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final List<String> excludedPaths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+    public GzipResponseFilter(CompressionProperties props) {
+        this.minResponseSize = props.getMinResponseSize();
+        this.mimeTypes = props.getMimeTypes().stream().map(MediaType::parseMediaType).collect(Collectors.toList());
+        this.excludedPaths = List.copyOf(props.getExcludedPaths());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = pathHelper.getPathWithinApplication(request);
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /** Async results are written on a later dispatch, which must reach the same buffer. */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (buffered == null) {
+            buffered = new ContentCachingResponseWrapper(response);
+        }
+
+        chain.doFilter(new IdentityETagRequest(request), buffered);
+
+        if (!isAsyncStarted(request)) {
+            send(request, buffered);
+        }
+    }
+
+    private void send(HttpServletRequest request, ContentCachingResponseWrapper buffered) throws IOException {
+        HttpServletResponse raw = (HttpServletResponse) buffered.getResponse();
+        if (buffered.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            String eTag = raw.getHeader(HttpHeaders.ETAG);
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (eTag != null && ifNoneMatch != null && ifNoneMatch.contains(gzipETag(eTag))) {
+                raw.setHeader(HttpHeaders.ETAG, gzipETag(eTag));
+            }
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = buffered.getContentAsByteArray();
+        if (!compressible(buffered, body.length)) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        byte[] compressed = gzip(body);
+        buffered.resetBuffer();
+
+        raw.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        String eTag = raw.getHeader(HttpHeaders.ETAG);
+        if (eTag != null) {
+            raw.setHeader(HttpHeaders.ETAG, gzipETag(eTag));
+        }
+        raw.setContentLength(compressed.length);
+        raw.getOutputStream().write(compressed);
+        raw.flushBuffer();
+    }
+
+    /** {@code "abc"} becomes {@code "abc-gzip"}, {@code W/"abc"} becomes {@code W/"abc-gzip"}. */
+    static String gzipETag(String eTag) {
+        if (!eTag.endsWith("\"") || eTag.endsWith(GZIP_ETAG_SUFFIX + "\"")) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    static String identityETags(String ifNoneMatch) {
+        return ifNoneMatch == null ? null : ifNoneMatch.replace(GZIP_ETAG_SUFFIX + "\"", "\"");
+    }
+
+    private boolean compressible(HttpServletResponse response, int length) {
+        if (length < minResponseSize || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || response.getContentType() == null) {
+            return false;
+        }
+        MediaType contentType = MediaType.parseMediaType(response.getContentType());
+        return mimeTypes.stream().anyMatch(type -> type.isCompatibleWith(contentType));
+    }
+
+    /** Whether the {@code Accept-Encoding} value lists gzip without {@code q=0}. */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!GZIP.equalsIgnoreCase(parts[0].trim()) && !"*".equals(parts[0].trim())) {
+                continue;
+            }
+            boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+
+    /** Presents the client's {@code If-None-Match} with gzip ETags turned back into the identity ones. */
+    private static final class IdentityETagRequest extends HttpServletRequestWrapper {
+
+        IdentityETagRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? identityETags(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || values == null) {
+                return values;
+            }
+            return Collections.enumeration(Collections.list(values).stream()
+                .map(GzipResponseFilter::identityETags)
+                .collect(Collectors.toList()));
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
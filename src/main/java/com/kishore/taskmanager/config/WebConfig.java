@@ -0,0 +1,20 @@
+package com.kishore.taskmanager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class WebConfig {
+
+	/** Registered first, so it compresses whatever the rest of the chain writes. */
+	@Bean
+	@ConditionalOnProperty(prefix = "compression", name = "enabled", matchIfMissing = true)
+	public FilterRegistrationBean<GzipResponseFilter> gzipResponseFilter(CompressionProperties props) {
+		FilterRegistrationBean<GzipResponseFilter> registration = new FilterRegistrationBean<>(new GzipResponseFilter(props));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
@@ -1,63 +1,237 @@
 package com.kishore.taskmanager.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.amazonaws.serverless.proxy.RequestReader;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kishore.taskmanager.model.BulkOperationResult;
+import com.kishore.taskmanager.model.StatusTransition;
 import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskLookupResult;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.model.TaskWriteResult;
+import com.kishore.taskmanager.service.BulkTaskService;
+import com.kishore.taskmanager.service.IdempotentTaskService;
 import com.kishore.taskmanager.service.TaskService;
+import com.kishore.taskmanager.service.TaskStatsService;
 
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
 
+    static final String NEXT_TOKEN_HEADER = "X-Next-Token";
+
+    static final String NDJSON = "application/x-ndjson";
+
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    static final String PREFER_HEADER = "Prefer";
+
+    static final String RESPOND_ASYNC = "respond-async";
+
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TaskService service;
+    private final IdempotentTaskService idempotentService;
+    private final BulkTaskService bulkService;
+    private final TaskStatsService statsService;
+    private final ObjectMapper objectMapper;
 
-    public TaskController(TaskService service) {
+    public TaskController(TaskService service, IdempotentTaskService idempotentService, BulkTaskService bulkService,
+            TaskStatsService statsService, ObjectMapper objectMapper) {
         this.service = service;
+        this.idempotentService = idempotentService;
+        this.bulkService = bulkService;
+        this.statsService = statsService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Creates a task. With an {@value #IDEMPOTENCY_KEY_HEADER} header, retries of the same
+     * request get the originally created task back instead of creating another one; the
+     * same key with a different body is rejected with 422.
+     */
     @PostMapping
-    public ResponseEntity<Task> create(@RequestBody Task task) {
-        Task created = service.create(task);
+    public ResponseEntity<Task> create(@RequestBody Task task,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        Task created = idempotencyKey == null ? service.create(task) : idempotentService.create(task, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    /**
+     * Creates or replaces up to 500 tasks in one call. Responds 200 when every task
+     * was written and 207 when some were not; the body lists the outcome per task.
+     */
+    @PostMapping("/_batch")
+    public CompletableFuture<ResponseEntity<List<TaskWriteResult>>> saveAll(@RequestBody List<Task> tasks) {
+        return service.saveAll(tasks).thenApply(results -> {
+            boolean allWritten = results.stream().allMatch(r -> r.getStatus() == TaskWriteResult.Status.WRITTEN);
+            return ResponseEntity.status(allWritten ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(results);
+        });
+    }
+
+    /**
+     * Returns one page of tasks. When more pages exist, the cursor for the next one
+     * is sent in the {@value #NEXT_TOKEN_HEADER} header and is passed back as
+     * {@code nextToken}. {@code limit} is still accepted as an alias of {@code pageSize}.
+     * {@code fields}, e.g. {@code id,title,status}, limits which task fields are returned.
+     * Pages carry an ETag, so an unchanged page can be revalidated with {@code If-None-Match}.
+     */
     @GetMapping
     public ResponseEntity<List<Task>> getAllTasks(
             @RequestParam Optional<String> status,
-            @RequestParam Optional<Integer> limit) {
-        List<Task> tasks = service.findAll(status, limit);
-        return ResponseEntity.ok(tasks);
+            @RequestParam Optional<Integer> pageSize,
+            @RequestParam Optional<Integer> limit,
+            @RequestParam Optional<String> nextToken,
+            @RequestParam Optional<String> fields) {
+        TaskPage page = service.findAll(status, pageSize.or(() -> limit), nextToken, fields);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(TaskETags.of(page));
+        if (page.hasNext()) {
+            response.header(NEXT_TOKEN_HEADER, page.getNextToken());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Looks up several tasks in one call. Each distinct id gets one entry, in request
+     * order, marked FOUND, NOT_FOUND or UNPROCESSED.
+     */
+    @PostMapping("/_mget")
+    public CompletableFuture<ResponseEntity<List<TaskLookupResult>>> findByIds(@RequestBody List<String> ids) {
+        return service.findByIds(ids).thenApply(results -> ResponseEntity.ok(results));
+    }
+
+    /**
+     * Streams every task as newline-delimited JSON. Tasks are written straight from the
+     * scan pages to the response and flushed page by page, so the full table is never
+     * held in memory. Under Lambda the proxy still buffers the serialised body before
+     * returning it, so there the API Gateway payload limit applies.
+     */
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        OutputStream out = response.getOutputStream();
+
+        try (Stream<List<Task>> pages = service.streamAllPages()) {
+            Iterator<List<Task>> iterator = pages.iterator();
+            while (iterator.hasNext()) {
+                for (Task task : iterator.next()) {
+                    out.write(writer.writeValueAsBytes(task));
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        }
+    }
+
+    /** Task counts per status, from the maintained counters rather than a scan. */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> stats() {
+        TaskStats stats = statsService.getStats();
+        return ResponseEntity.ok().eTag(TaskETags.of(stats)).body(stats);
     }
 
+    /**
+     * Reads a task. The response carries a strong ETag; a request whose
+     * {@code If-None-Match} matches it gets 304 with no body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> read(@PathVariable String id) {
-        return ResponseEntity.ok(service.read(id));
+    public ResponseEntity<Task> read(@PathVariable String id, @RequestParam Optional<String> fields) {
+        Task task = service.read(id, fields);
+        return ResponseEntity.ok().eTag(TaskETags.of(task)).body(task);
     }
 
+    /**
+     * Replaces a task. With {@code Prefer: respond-async} the write may be buffered and
+     * persisted shortly after; the response is then 202 with {@code Preference-Applied}.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Task> update(@PathVariable String id, @RequestBody Task task) {
+    public ResponseEntity<Task> update(@PathVariable String id, @RequestBody Task task,
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer) {
     	if (id == null || id.isBlank()) {
     	    throw new IllegalArgumentException("Task ID cannot be blank");
     	}
 
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            if (service.updateLater(id, task)) {
+                return ResponseEntity.accepted().header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC).body(task);
+            }
+            return ResponseEntity.ok(task);
+        }
+
         Task updated = service.update(id, task);
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Partial update in JSON merge-patch style: fields present in the body are set,
+     * fields sent as {@code null} are removed and absent fields are left unchanged.
+     * The response holds the id and the fields that were set.
+     */
+    @PatchMapping(value = "/{id}", consumes = { MediaType.APPLICATION_JSON_VALUE, MERGE_PATCH_JSON })
+    public ResponseEntity<Task> patch(@PathVariable String id, @RequestBody Map<String, Object> changes) {
+        return ResponseEntity.ok(service.patch(id, changes));
+    }
+
+    /**
+     * Deletes every task with the given status. A run that hits its time budget returns
+     * a {@code nextToken} (also in {@value #NEXT_TOKEN_HEADER}); repeat the call with it
+     * to carry on.
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkOperationResult> deleteByStatus(@RequestParam String status,
+            @RequestParam Optional<String> nextToken, HttpServletRequest request) {
+        return bulkResponse(bulkService.deleteByStatus(status, nextToken, lambdaTimeRemaining(request)));
+    }
+
+    /**
+     * Moves every task in status {@code from} to {@code to}; resumable like
+     * {@link #deleteByStatus}.
+     */
+    @PostMapping("/_transition")
+    public ResponseEntity<BulkOperationResult> transitionStatus(@RequestBody StatusTransition transition,
+            @RequestParam Optional<String> nextToken, HttpServletRequest request) {
+        return bulkResponse(bulkService.transitionStatus(transition.getFrom(), transition.getTo(), nextToken,
+                lambdaTimeRemaining(request)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
     	if(id==null || id.isBlank())
@@ -66,6 +240,19 @@ public class TaskController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
-    
-    
+
+    private static ResponseEntity<BulkOperationResult> bulkResponse(BulkOperationResult result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!result.isComplete()) {
+            response.header(NEXT_TOKEN_HEADER, result.getNextToken());
+        }
+        return response.body(result);
+    }
+
+    /** Time left in the current Lambda invocation; empty when not running on Lambda. */
+    private static Optional<Duration> lambdaTimeRemaining(HttpServletRequest request) {
+        return Optional.ofNullable(request.getAttribute(RequestReader.LAMBDA_CONTEXT_PROPERTY))
+            .filter(Context.class::isInstance)
+            .map(context -> Duration.ofMillis(((Context) context).getRemainingTimeInMillis()));
+    }
 }
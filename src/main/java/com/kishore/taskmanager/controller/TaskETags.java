@@ -0,0 +1,72 @@
+package com.kishore.taskmanager.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskStats;
+
+/**
+ * Strong ETags for task responses, from a 64-bit FNV-1a hash of the fields that are
+ * serialised. Hashing the model is much cheaper than rendering and hashing the JSON, and
+ * lets a matching {@code If-None-Match} be answered with 304 before anything is written.
+ */
+final class TaskETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /** Separates fields and marks nulls, so ("ab", null) and ("a", "b") hash differently. */
+    private static final int FIELD_END = 0x1f;
+    private static final int NULL = 0x1e;
+
+    private TaskETags() {
+    }
+
+    static String of(Task task) {
+        return tag(hash(FNV_OFFSET, task));
+    }
+
+    static String of(TaskPage page) {
+        long hash = FNV_OFFSET;
+        for (Task task : page.getItems()) {
+            hash = hash(hash, task);
+        }
+        return tag(hash(hash, page.getNextToken()));
+    }
+
+    static String of(TaskStats stats) {
+        long hash = FNV_OFFSET;
+        for (Map.Entry<String, Long> count : new TreeMap<>(stats.getCounts()).entrySet()) {
+            hash = hash(hash, count.getKey());
+            hash = hash(hash, String.valueOf(count.getValue()));
+        }
+        return tag(hash);
+    }
+
+    private static long hash(long hash, Task task) {
+        hash = hash(hash, task.getId());
+        hash = hash(hash, task.getTitle());
+        hash = hash(hash, task.getDescription());
+        return hash(hash, task.getStatus());
+    }
+
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return mix(mix(hash, NULL), FIELD_END);
+        }
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = mix(hash, b & 0xff);
+        }
+        return mix(hash, FIELD_END);
+    }
+
+    private static long mix(long hash, int octet) {
+        return (hash ^ octet) * FNV_PRIME;
+    }
+
+    private static String tag(long hash) {
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+}
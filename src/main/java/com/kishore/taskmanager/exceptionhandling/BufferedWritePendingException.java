@@ -0,0 +1,17 @@
+package com.kishore.taskmanager.exceptionhandling;
+
+import java.util.Collection;
+
+/**
+ * A buffered write to a task failed and is waiting for its retry, so a synchronous write
+ * to it is refused rather than being overwritten by that retry later. Answered with 503,
+ * so the client retries once the buffer has caught up.
+ */
+public class BufferedWritePendingException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public BufferedWritePendingException(Collection<String> ids) {
+		super("Buffered writes to " + ids + " could not be persisted yet, try again later");
+	}
+}
@@ -0,0 +1,15 @@
+package com.kishore.taskmanager.exceptionhandling;
+
+/**
+ * An {@code Idempotency-Key} is held by a create that has not finished yet. Answered with
+ * 409, so the client retries later instead of being told about a task that may never be
+ * written.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public IdempotencyKeyInProgressException(String key) {
+		super("A request with Idempotency-Key " + key + " is still in progress");
+	}
+}
@@ -0,0 +1,14 @@
+package com.kishore.taskmanager.exceptionhandling;
+
+/**
+ * An {@code Idempotency-Key} was reused with a request that differs from the one that
+ * first used it. Answered with 422, since replaying the stored response would be wrong.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public IdempotencyKeyMismatchException(String key) {
+		super("Idempotency-Key " + key + " was already used with a different request");
+	}
+}
@@ -0,0 +1,15 @@
+package com.kishore.taskmanager.exceptionhandling;
+
+/**
+ * A DynamoDB call was refused by the client-side rate limiter because it would have had
+ * to wait longer than {@code max-wait}. Answered with 503, so the client backs off and
+ * retries.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RateLimitExceededException(String table) {
+		super("Too many requests to " + table + ", try again later");
+	}
+}
@@ -0,0 +1,98 @@
+package com.kishore.taskmanager.lambda;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.serverless.exceptions.ContainerInitializationException;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.spring.SpringBootLambdaContainerHandler;
+import com.amazonaws.serverless.proxy.spring.SpringBootProxyHandlerBuilder;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.kishore.taskmanager.metrics.EmfRecord;
+
+/**
+ * Owns the Spring proxy handler for the lifetime of a Lambda execution environment.
+ * The handler is built and initialised exactly once; every invocation reuses it.
+ *
+ * <p>Each invocation is timed with {@link System#nanoTime()} and reported as an EMF
+ * line carrying the latency and whether it was the first request after a cold start,
+ * the first after a SnapStart restore, or a warm one. The first request after a cold
+ * start also reports how long the container took to initialise; Lambda reports the
+ * restore duration itself.
+ */
+public final class LambdaContainer {
+
+    public enum StartType {
+        COLD, RESTORE, WARM
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(LambdaContainer.class);
+
+    private final SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler;
+    private final AtomicReference<StartType> nextStart = new AtomicReference<>(StartType.COLD);
+    private final long initNanos;
+
+    private LambdaContainer(SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler, long initNanos) {
+        this.handler = handler;
+        this.initNanos = initNanos;
+    }
+
+    public static LambdaContainer start(Class<?> application) {
+        long start = System.nanoTime();
+
+        SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler;
+        try {
+            // Initialised synchronously, so the time below covers the whole context and
+            // priming never runs against a half-started one.
+            handler = new SpringBootProxyHandlerBuilder<AwsProxyRequest>()
+                .defaultProxy()
+                .springBootApplication(application)
+                .buildAndInitialize();
+        } catch (ContainerInitializationException e) {
+            throw new IllegalStateException("Could not initialize Spring Boot application", e);
+        }
+
+        long initNanos = System.nanoTime() - start;
+        logger.info("Spring Boot Lambda container initialized in {} ms", toMillis(initNanos));
+        return new LambdaContainer(handler, initNanos);
+    }
+
+    public SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler() {
+        return handler;
+    }
+
+    public void handle(InputStream input, OutputStream output, Context context) throws IOException {
+        StartType startType = nextStart.getAndSet(StartType.WARM);
+        long start = System.nanoTime();
+        try {
+            handler.proxyStream(input, output, context);
+        } finally {
+            long latencyNanos = System.nanoTime() - start;
+
+            EmfRecord record = EmfRecord.create()
+                .dimension("FunctionName", context.getFunctionName())
+                .dimension("StartType", startType.name())
+                .metric("InvocationLatency", toMillis(latencyNanos), "Milliseconds")
+                .property("RequestId", context.getAwsRequestId());
+            if (startType == StartType.COLD) {
+                record.metric("InitDuration", toMillis(initNanos), "Milliseconds");
+            }
+            record.emit();
+        }
+    }
+
+    /** Called after a SnapStart restore: the next request is the first this environment serves. */
+    public void restored() {
+        nextStart.set(StartType.RESTORE);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.kishore.taskmanager.lambda;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+
+/**
+ * In-memory HTTP client for the snapshot priming clients. It reads each request body and
+ * answers with an empty successful DynamoDB result, so the SDK's marshalling, signing and
+ * unmarshalling run without a socket being opened.
+ */
+final class PrimingHttpClient implements SdkHttpClient, SdkAsyncHttpClient {
+
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.0";
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        return new ExecutableHttpRequest() {
+            @Override
+            public HttpExecuteResponse call() throws IOException {
+                if (request.contentStreamProvider().isPresent()) {
+                    try (InputStream body = request.contentStreamProvider().get().newStream()) {
+                        body.readAllBytes();
+                    }
+                }
+                byte[] body = responseFor(request.httpRequest());
+                return HttpExecuteResponse.builder()
+                        .response(headers())
+                        .responseBody(AbortableInputStream.create(new ByteArrayInputStream(body)))
+                        .build();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        request.requestContentPublisher().subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer chunk) {
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                request.responseHandler().onError(error);
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                request.responseHandler().onHeaders(headers());
+                request.responseHandler().onStream(AsyncRequestBody.fromBytes(responseFor(request.request())));
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    @Override
+    public String clientName() {
+        return "Priming";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static SdkHttpResponse headers() {
+        return SdkHttpResponse.builder()
+                .statusCode(200)
+                .putHeader("Content-Type", CONTENT_TYPE)
+                .build();
+    }
+
+    private static byte[] responseFor(SdkHttpRequest request) {
+        String target = request.firstMatchingHeader("X-Amz-Target").orElse("");
+        String response;
+        switch (target.substring(target.indexOf('.') + 1)) {
+            case "Scan":
+            case "Query":
+                response = "{\"Items\":[],\"Count\":0,\"ScannedCount\":0}";
+                break;
+            case "BatchGetItem":
+                response = "{\"Responses\":{},\"UnprocessedKeys\":{}}";
+                break;
+            case "BatchWriteItem":
+                response = "{\"UnprocessedItems\":{}}";
+                break;
+            default:
+                response = "{}";
+        }
+        return response.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package com.kishore.taskmanager.lambda;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kishore.taskmanager.config.DynamoDbRateGovernor;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
+import com.kishore.taskmanager.repository.TaskCache;
+import com.kishore.taskmanager.repository.TaskRepository;
+import com.kishore.taskmanager.repository.WriteBehindBuffer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+/**
+ * SnapStart (CRaC) hooks for the data layer.
+ *
+ * <p>Before the snapshot, the repositories are run through throwaway clients backed by a
+ * {@link PrimingHttpClient}, so Jackson, the table schema and the SDK's request pipeline
+ * are loaded and JIT-warmed in the snapshot without opening a connection that would be
+ * stale after restore. After restore, one cheap call on the real client resolves
+ * credentials and opens a fresh connection before the first request arrives.
+ */
+@Component
+public class SnapStartPriming implements Resource {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapStartPriming.class);
+
+    private static final int ITERATIONS = 20;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoProperties props;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public SnapStartPriming(DynamoDbClient dynamoDbClient, DynamoProperties props, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws Exception {
+        long start = System.nanoTime();
+
+        Task task = new Task();
+        task.setId("priming");
+        task.setTitle("priming");
+        task.setDescription("priming");
+        task.setStatus("PENDING");
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.readValue(objectMapper.writeValueAsBytes(task), Task.class);
+        }
+
+        DynamoProperties stubProps = new DynamoProperties();
+        // Prime the same write path, transactional or not, that the function will take.
+        stubProps.getStats().setMaintenance(props.getStats().getMaintenance());
+        TaskCache noCache = new TaskCache(stubProps);
+
+        PrimingHttpClient httpClient = new PrimingHttpClient();
+        try (DynamoDbClient client = DynamoDbClient.builder()
+                        .httpClient(httpClient)
+                        .region(region())
+                        .credentialsProvider(stubCredentials())
+                        .build();
+                DynamoDbAsyncClient asyncClient = DynamoDbAsyncClient.builder()
+                        .httpClient(httpClient)
+                        .region(region())
+                        .credentialsProvider(stubCredentials())
+                        .build()) {
+
+            // Rate limiting is off in the stub properties and the stub never throttles, so nothing is recorded.
+            TaskAsyncRepository asyncRepository = new TaskAsyncRepository(asyncClient, stubProps, noCache,
+                    new DynamoDbRateGovernor(meterRegistry, stubProps));
+            TaskRepository repository = new TaskRepository(client, noCache,
+                    new WriteBehindBuffer(asyncRepository, stubProps), stubProps, Runnable::run,
+                    Runnable::run);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                repository.createTask(task);
+                repository.saveTask(task);
+                repository.getTask(task.getId());
+                repository.getTask(task.getId(), List.of("id", "title"));
+                repository.findTasks(Optional.empty(), 1, Optional.empty(), List.of());
+                repository.findTasks(Optional.of(task.getStatus()), 1, Optional.empty(), List.of("id", "status"));
+                asyncRepository.getTasks(List.of(task.getId())).join();
+                asyncRepository.saveTasks(List.of(task)).join();
+            }
+        }
+
+        logger.info("Primed data layer for snapshot in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        try {
+            dynamoDbClient.describeTable(request -> request.tableName("Tasks"));
+            logger.info("Refreshed DynamoDB connection after restore in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (SdkException e) {
+            // The first request will open the connection instead; restore must not fail over this.
+            logger.warn("Could not warm DynamoDB connection after restore", e);
+        }
+    }
+
+    private Region region() {
+        return props.getRegion() == null || props.getRegion().isBlank() ? Region.US_EAST_1 : Region.of(props.getRegion());
+    }
+
+    private static StaticCredentialsProvider stubCredentials() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create("priming", "priming"));
+    }
+}
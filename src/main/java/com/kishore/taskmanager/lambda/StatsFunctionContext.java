@@ -0,0 +1,54 @@
+package com.kishore.taskmanager.lambda;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.kishore.taskmanager.config.AwsConfig;
+import com.kishore.taskmanager.config.ConcurrencyConfig;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.repository.TaskCache;
+import com.kishore.taskmanager.repository.TaskRepository;
+import com.kishore.taskmanager.repository.TaskStatsRepository;
+import com.kishore.taskmanager.repository.WriteBehindBuffer;
+import com.kishore.taskmanager.service.TaskStatsService;
+import com.kishore.taskmanager.service.TaskStreamService;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+/**
+ * Application context of the stream and reconcile functions: the synchronous DynamoDB
+ * client, the task and counter repositories and the two stats services. None of the API's
+ * beans are created, so there is no Netty async client, write-behind scheduler, rate
+ * governor, metrics or SnapStart priming to start. Deliberately not a
+ * {@code @Configuration}, so the API's component scan leaves it alone.
+ */
+@EnableConfigurationProperties(DynamoProperties.class)
+@Import({ ConcurrencyConfig.class, TaskCache.class, TaskRepository.class, TaskStatsRepository.class,
+        TaskStatsService.class, TaskStreamService.class })
+public class StatsFunctionContext {
+
+    @Bean
+    public DynamoDbClient dynamoDbClient(DynamoProperties props) {
+        DynamoProperties.Http http = props.getHttp();
+        return AwsConfig.syncClientBuilder(props)
+                .overrideConfiguration(config -> config
+                        .apiCallTimeout(http.getApiCallTimeout())
+                        .apiCallAttemptTimeout(http.getApiCallAttemptTimeout()))
+                .build();
+    }
+
+    @Bean
+    public WriteBehindBuffer writeBehindBuffer() {
+        return WriteBehindBuffer.disabled();
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(StatsFunctionContext.class)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+}
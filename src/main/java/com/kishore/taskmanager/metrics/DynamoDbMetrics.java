@@ -0,0 +1,236 @@
+package com.kishore.taskmanager.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * SDK interceptor shared by the sync and async DynamoDB clients. Every call asks for
+ * {@code ReturnConsumedCapacity.TOTAL} and is recorded, tagged with the operation, table
+ * and the API endpoint that caused it:
+ * <ul>
+ * <li>{@code dynamodb.requests}: latency timer with a percentile histogram</li>
+ * <li>{@code dynamodb.consumed.capacity}: capacity units consumed</li>
+ * <li>{@code dynamodb.retries}: attempts beyond the first</li>
+ * <li>{@code dynamodb.throttles}: calls that failed with a throttling error</li>
+ * </ul>
+ * With {@code aws.dynamodb.emf-metrics} set, each call is also written as an EMF line,
+ * so on Lambda CloudWatch gets the same numbers without an exporter.
+ */
+@Component
+public class DynamoDbMetrics implements ExecutionInterceptor {
+
+    static final String NO_ENDPOINT = "none";
+
+    private static final ExecutionAttribute<Long> START = new ExecutionAttribute<>("TaskManagerMetricsStart");
+    private static final ExecutionAttribute<String> ENDPOINT = new ExecutionAttribute<>("TaskManagerMetricsEndpoint");
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("TaskManagerMetricsAttempts");
+    private static final ThreadLocal<String> PINNED_ENDPOINT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final boolean emf;
+
+    public DynamoDbMetrics(MeterRegistry registry, DynamoProperties props) {
+        this.registry = registry;
+        this.emf = props.isEmfMetrics();
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        // Runs on the thread that starts the call. A paced async call starts on a timer
+        // thread with no request bound, so its caller pins the endpoint before pacing.
+        String pinned = PINNED_ENDPOINT.get();
+        attributes.putAttribute(START, System.nanoTime());
+        attributes.putAttribute(ENDPOINT, pinned != null ? pinned : currentEndpoint());
+        attributes.putAttribute(ATTEMPTS, 0);
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes attributes) {
+        return withTotalCapacity(context.request());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes attributes) {
+        attributes.putAttribute(ATTEMPTS, attributes.getAttribute(ATTEMPTS) + 1);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        record(context.request(), context.response(), null, attributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        record(context.request(), null, context.exception(), attributes);
+    }
+
+    private void record(SdkRequest request, SdkResponse response, Throwable failure, ExecutionAttributes attributes) {
+        Long start = attributes.getAttribute(START);
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+
+        String operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        String endpoint = attributes.getAttribute(ENDPOINT);
+        Tags tags = Tags.of(
+            "operation", operation,
+            "table", request.getValueForField("TableName", String.class).orElse("multiple"),
+            "endpoint", endpoint);
+
+        int attempts = attributes.getAttribute(ATTEMPTS);
+        int retries = Math.max(0, attempts - 1);
+        boolean throttled = failure instanceof AwsServiceException e && e.isThrottlingException();
+        double capacity = response == null ? 0 : consumedCapacity(response);
+
+        Timer.builder("dynamodb.requests")
+            .tags(tags)
+            .tag("outcome", failure == null ? "success" : "error")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(Duration.ofNanos(nanos));
+        if (capacity > 0) {
+            Counter.builder("dynamodb.consumed.capacity").baseUnit("units").tags(tags).register(registry).increment(capacity);
+        }
+        if (retries > 0) {
+            Counter.builder("dynamodb.retries").tags(tags).register(registry).increment(retries);
+        }
+        if (throttled) {
+            Counter.builder("dynamodb.throttles").tags(tags).register(registry).increment();
+        }
+
+        if (emf) {
+            EmfRecord.create()
+                .dimension("Operation", operation)
+                .dimension("Endpoint", endpoint)
+                .metric("DynamoDbLatency", nanos / 1_000_000.0, "Milliseconds")
+                .metric("ConsumedCapacity", capacity, "Count")
+                .metric("Retries", retries, "Count")
+                .metric("Throttles", throttled ? 1 : 0, "Count")
+                .emit();
+        }
+    }
+
+    /**
+     * Starts {@code call} with {@code endpoint} as the endpoint tag of the DynamoDB calls it
+     * makes on this thread. Used for calls started after the HTTP request's thread has moved
+     * on, with the endpoint read by {@link #currentEndpoint()} beforehand.
+     */
+    public static <T> T withEndpoint(String endpoint, Supplier<T> call) {
+        String previous = PINNED_ENDPOINT.get();
+        PINNED_ENDPOINT.set(endpoint);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                PINNED_ENDPOINT.remove();
+            } else {
+                PINNED_ENDPOINT.set(previous);
+            }
+        }
+    }
+
+    /** Route template of the HTTP request on this thread, such as {@code GET /tasks/{id}}. */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return NO_ENDPOINT;
+        }
+        try {
+            Object pattern = servlet.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern == null ? NO_ENDPOINT : servlet.getRequest().getMethod() + " " + pattern;
+        } catch (IllegalStateException e) {
+            // The request finished while work it started was still running.
+            return NO_ENDPOINT;
+        }
+    }
+
+    static double consumedCapacity(SdkResponse response) {
+        Object consumed = response.getValueForField("ConsumedCapacity", Object.class).orElse(null);
+        if (consumed instanceof ConsumedCapacity single) {
+            return units(single);
+        }
+        double total = 0;
+        if (consumed instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof ConsumedCapacity capacity) {
+                    total += units(capacity);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static double units(ConsumedCapacity capacity) {
+        return capacity.capacityUnits() == null ? 0 : capacity.capacityUnits();
+    }
+
+    static SdkRequest withTotalCapacity(SdkRequest request) {
+        ReturnConsumedCapacity total = ReturnConsumedCapacity.TOTAL;
+        if (request instanceof GetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof PutItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof DeleteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof UpdateItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof QueryRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof ScanRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof BatchGetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof BatchWriteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof TransactWriteItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof TransactGetItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        return request;
+    }
+}
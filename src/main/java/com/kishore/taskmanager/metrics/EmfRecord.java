@@ -0,0 +1,80 @@
+package com.kishore.taskmanager.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One CloudWatch Embedded Metric Format log line. CloudWatch Logs extracts the metrics
+ * from the line asynchronously, so recording a metric costs a log write instead of a
+ * PutMetricData call on the request path.
+ *
+ * <p>Lines go to the {@code EMF} logger, which logback writes without any prefix, since
+ * CloudWatch only recognises a line that is a bare JSON object.
+ */
+public final class EmfRecord {
+
+    public static final String NAMESPACE = "TaskManager";
+
+    private static final Logger emf = LoggerFactory.getLogger("EMF");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final List<String> dimensions = new ArrayList<>();
+    private final List<Map<String, String>> metrics = new ArrayList<>();
+
+    private EmfRecord() {
+    }
+
+    public static EmfRecord create() {
+        return new EmfRecord();
+    }
+
+    public EmfRecord dimension(String name, String value) {
+        dimensions.add(name);
+        values.put(name, value);
+        return this;
+    }
+
+    public EmfRecord metric(String name, double value, String unit) {
+        metrics.add(Map.of("Name", name, "Unit", unit));
+        values.put(name, value);
+        return this;
+    }
+
+    /** Adds a searchable field that is not a metric or dimension, such as a request id. */
+    public EmfRecord property(String name, Object value) {
+        values.put(name, value);
+        return this;
+    }
+
+    public void emit() {
+        if (!emf.isInfoEnabled() || metrics.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> directive = new LinkedHashMap<>();
+        directive.put("Namespace", NAMESPACE);
+        directive.put("Dimensions", List.of(dimensions));
+        directive.put("Metrics", metrics);
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("_aws", Map.of(
+            "Timestamp", System.currentTimeMillis(),
+            "CloudWatchMetrics", List.of(directive)));
+        root.putAll(values);
+
+        try {
+            emf.info(MAPPER.writeValueAsString(root));
+        } catch (JsonProcessingException e) {
+            LoggerFactory.getLogger(EmfRecord.class).warn("Could not serialise EMF record", e);
+        }
+    }
+}
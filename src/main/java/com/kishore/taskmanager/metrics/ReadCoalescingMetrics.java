@@ -0,0 +1,27 @@
+package com.kishore.taskmanager.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.kishore.taskmanager.repository.TaskRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/** Publishes how many task reads were served by another request's in-flight GetItem. */
+@Component
+public class ReadCoalescingMetrics implements MeterBinder {
+
+    private final TaskRepository repository;
+
+    public ReadCoalescingMetrics(TaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.reads.coalesced", repository, TaskRepository::coalescedReads)
+            .description("Reads that shared another caller's in-flight GetItem")
+            .register(registry);
+    }
+}
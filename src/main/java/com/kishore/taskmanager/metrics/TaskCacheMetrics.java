@@ -0,0 +1,35 @@
+package com.kishore.taskmanager.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.kishore.taskmanager.repository.TaskCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/** Publishes the task read cache's hit, miss and eviction counts and its size. */
+@Component
+public class TaskCacheMetrics implements MeterBinder {
+
+    private final TaskCache cache;
+
+    public TaskCacheMetrics(TaskCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.cache.requests", cache, c -> c.stats().hitCount())
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("task.cache.requests", cache, c -> c.stats().missCount())
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("task.cache.evictions", cache, c -> c.stats().evictionCount())
+            .register(registry);
+        Gauge.builder("task.cache.size", cache, TaskCache::size)
+            .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.kishore.taskmanager.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.kishore.taskmanager.repository.WriteBehindBuffer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/** Publishes the write-behind buffer's depth and how many writes it collapsed. */
+@Component
+public class WriteBehindMetrics implements MeterBinder {
+
+    private final WriteBehindBuffer buffer;
+
+    public WriteBehindMetrics(WriteBehindBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.writes.coalesced", buffer, WriteBehindBuffer::coalescedCount)
+            .description("Buffered writes replaced by a newer write to the same task")
+            .register(registry);
+        Gauge.builder("task.writes.buffered", buffer, WriteBehindBuffer::size)
+            .register(registry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kishore.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * Progress of a bulk delete or status transition. When {@code nextToken} is set the run
+ * stopped early and can be resumed by passing the token back. Failed ids are not
+ * revisited on resume; at most a sample of them is listed.
+ */
+public class BulkOperationResult {
+	private final int succeeded;
+	private final int skipped;
+	private final int failed;
+	private final List<String> failedIds;
+	private final String nextToken;
+
+	public BulkOperationResult(int succeeded, int skipped, int failed, List<String> failedIds, String nextToken) {
+		this.succeeded = succeeded;
+		this.skipped = skipped;
+		this.failed = failed;
+		this.failedIds = failedIds;
+		this.nextToken = nextToken;
+	}
+
+	public int getSucceeded() {
+		return succeeded;
+	}
+
+	public int getSkipped() {
+		return skipped;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public List<String> getFailedIds() {
+		return failedIds;
+	}
+
+	public String getNextToken() {
+		return nextToken;
+	}
+
+	public boolean isComplete() {
+		return nextToken == null;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkOperationResult [succeeded=" + succeeded + ", skipped=" + skipped + ", failed=" + failed
+				+ ", nextToken=" + nextToken + "]";
+	}
+}
@@ -0,0 +1,44 @@
+package com.kishore.taskmanager.model;
+
+/**
+ * What a create with an {@code Idempotency-Key} produced: the task that was returned and
+ * a hash of the request, so a reused key with a different request can be told apart from
+ * a retry. Until the create has written its task the record is not completed, and its
+ * task must not be handed out as created.
+ */
+public class IdempotencyRecord {
+	private final String requestHash;
+	private final Task task;
+	private final boolean completed;
+
+	public IdempotencyRecord(String requestHash, Task task) {
+		this(requestHash, task, false);
+	}
+
+	public IdempotencyRecord(String requestHash, Task task, boolean completed) {
+		this.requestHash = requestHash;
+		this.task = task;
+		this.completed = completed;
+	}
+
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	public Task getTask() {
+		return task;
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public boolean matches(String requestHash) {
+		return this.requestHash.equals(requestHash);
+	}
+
+	@Override
+	public String toString() {
+		return "IdempotencyRecord [requestHash=" + requestHash + ", taskId=" + task.getId() + ", completed=" + completed + "]";
+	}
+}
@@ -0,0 +1,33 @@
+package com.kishore.taskmanager.model;
+
+/**
+ * Body of a bulk status transition: every task in status {@code from} moves to {@code to}.
+ */
+public class StatusTransition {
+	private String from;
+	private String to;
+
+	public StatusTransition() {
+	}
+
+	public StatusTransition(String from, String to) {
+		this.from = from;
+		this.to = to;
+	}
+
+	public String getFrom() {
+		return from;
+	}
+
+	public void setFrom(String from) {
+		this.from = from;
+	}
+
+	public String getTo() {
+		return to;
+	}
+
+	public void setTo(String to) {
+		this.to = to;
+	}
+}
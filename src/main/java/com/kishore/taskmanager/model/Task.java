@@ -1,10 +1,13 @@
 package com.kishore.taskmanager.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 
 @DynamoDbBean
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Task {
 	private String id;
 	private String title;
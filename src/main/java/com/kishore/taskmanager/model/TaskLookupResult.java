@@ -0,0 +1,51 @@
+package com.kishore.taskmanager.model;
+
+/**
+ * Outcome of looking up a single id as part of a multi-get request.
+ * {@code task} is only set when the status is {@code FOUND}.
+ */
+public class TaskLookupResult {
+
+	public enum Status {
+		FOUND, NOT_FOUND, UNPROCESSED
+	}
+
+	private final String id;
+	private final Status status;
+	private final Task task;
+
+	private TaskLookupResult(String id, Status status, Task task) {
+		this.id = id;
+		this.status = status;
+		this.task = task;
+	}
+
+	public static TaskLookupResult found(Task task) {
+		return new TaskLookupResult(task.getId(), Status.FOUND, task);
+	}
+
+	public static TaskLookupResult notFound(String id) {
+		return new TaskLookupResult(id, Status.NOT_FOUND, null);
+	}
+
+	public static TaskLookupResult unprocessed(String id) {
+		return new TaskLookupResult(id, Status.UNPROCESSED, null);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public Task getTask() {
+		return task;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskLookupResult [id=" + id + ", status=" + status + "]";
+	}
+}
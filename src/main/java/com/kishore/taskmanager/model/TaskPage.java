@@ -0,0 +1,34 @@
+package com.kishore.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * One page of a task listing. {@code nextToken} is an opaque cursor for the
+ * following page and is {@code null} once the listing is exhausted.
+ */
+public class TaskPage {
+	private final List<Task> items;
+	private final String nextToken;
+
+	public TaskPage(List<Task> items, String nextToken) {
+		this.items = items;
+		this.nextToken = nextToken;
+	}
+
+	public List<Task> getItems() {
+		return items;
+	}
+
+	public String getNextToken() {
+		return nextToken;
+	}
+
+	public boolean hasNext() {
+		return nextToken != null;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskPage [items=" + items.size() + ", nextToken=" + nextToken + "]";
+	}
+}
@@ -0,0 +1,40 @@
+package com.kishore.taskmanager.model;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+/**
+ * Hand-written mapping for {@link Task}. Unlike {@code TableSchema.fromBean}, building it
+ * does no annotation scanning or LambdaMetafactory code generation, so it is cheap on the
+ * cold-start path and needs no reflection configuration under GraalVM native image.
+ *
+ * <p>Keep it in step with the fields of {@link Task}; {@code TaskSchemaTest} checks it
+ * against the bean schema.
+ */
+public final class TaskSchema {
+
+	public static final String STATUS_INDEX = "status-index";
+
+	public static final StaticTableSchema<Task> INSTANCE = StaticTableSchema.builder(Task.class)
+			.newItemSupplier(Task::new)
+			.addAttribute(String.class, a -> a.name("id")
+					.getter(Task::getId)
+					.setter(Task::setId)
+					.tags(primaryPartitionKey()))
+			.addAttribute(String.class, a -> a.name("title")
+					.getter(Task::getTitle)
+					.setter(Task::setTitle))
+			.addAttribute(String.class, a -> a.name("description")
+					.getter(Task::getDescription)
+					.setter(Task::setDescription))
+			.addAttribute(String.class, a -> a.name("status")
+					.getter(Task::getStatus)
+					.setter(Task::setStatus)
+					.tags(secondaryPartitionKey(STATUS_INDEX)))
+			.build();
+
+	private TaskSchema() {
+	}
+}
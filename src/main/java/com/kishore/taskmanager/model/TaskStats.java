@@ -0,0 +1,30 @@
+package com.kishore.taskmanager.model;
+
+import java.util.Map;
+
+/**
+ * Number of tasks per status, read from the maintained counters. Tasks without a
+ * status are not counted.
+ */
+public class TaskStats {
+	private final Map<String, Long> counts;
+	private final long total;
+
+	public TaskStats(Map<String, Long> counts) {
+		this.counts = counts;
+		this.total = counts.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	public Map<String, Long> getCounts() {
+		return counts;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskStats [counts=" + counts + ", total=" + total + "]";
+	}
+}
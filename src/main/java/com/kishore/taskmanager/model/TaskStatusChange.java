@@ -0,0 +1,41 @@
+package com.kishore.taskmanager.model;
+
+/**
+ * A task's status before and after one change, as captured by a stream record.
+ * {@code oldStatus} is {@code null} for a new task and {@code newStatus} for a
+ * deleted one.
+ */
+public class TaskStatusChange {
+	private final String eventId;
+	private final String sequenceNumber;
+	private final String oldStatus;
+	private final String newStatus;
+
+	public TaskStatusChange(String eventId, String sequenceNumber, String oldStatus, String newStatus) {
+		this.eventId = eventId;
+		this.sequenceNumber = sequenceNumber;
+		this.oldStatus = oldStatus;
+		this.newStatus = newStatus;
+	}
+
+	public String getEventId() {
+		return eventId;
+	}
+
+	public String getSequenceNumber() {
+		return sequenceNumber;
+	}
+
+	public String getOldStatus() {
+		return oldStatus;
+	}
+
+	public String getNewStatus() {
+		return newStatus;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskStatusChange [eventId=" + eventId + ", " + oldStatus + " -> " + newStatus + "]";
+	}
+}
@@ -0,0 +1,51 @@
+package com.kishore.taskmanager.model;
+
+/**
+ * Outcome of writing a single task as part of a batch request. SKIPPED is only used by
+ * conditional writes whose condition no longer held.
+ */
+public class TaskWriteResult {
+
+	public enum Status {
+		WRITTEN, SKIPPED, FAILED
+	}
+
+	private final String id;
+	private final Status status;
+	private final String error;
+
+	private TaskWriteResult(String id, Status status, String error) {
+		this.id = id;
+		this.status = status;
+		this.error = error;
+	}
+
+	public static TaskWriteResult written(String id) {
+		return new TaskWriteResult(id, Status.WRITTEN, null);
+	}
+
+	public static TaskWriteResult skipped(String id, String reason) {
+		return new TaskWriteResult(id, Status.SKIPPED, reason);
+	}
+
+	public static TaskWriteResult failed(String id, String error) {
+		return new TaskWriteResult(id, Status.FAILED, error);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskWriteResult [id=" + id + ", status=" + status + ", error=" + error + "]";
+	}
+}
@@ -0,0 +1,47 @@
+package com.kishore.taskmanager.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exponential backoff with full jitter for retrying the unprocessed part of a
+ * batch call. Spreading the retries out avoids every caller hitting the same
+ * throttled partition at the same instant.
+ */
+final class Backoff {
+
+    private static final long BASE_DELAY_MS = 50;
+    private static final long MAX_DELAY_MS = 2_000;
+
+    private Backoff() {
+    }
+
+    /** Randomised delay before the given retry attempt (1 for the first retry). */
+    static long delayMillis(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(attempt - 1, 16));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Sleeps before the given retry attempt.
+     *
+     * @return {@code false} if the thread was interrupted and the caller should stop retrying
+     */
+    static boolean pause(int attempt) {
+        try {
+            Thread.sleep(delayMillis(attempt));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Completes after the delay for the given retry attempt without blocking a thread. */
+    static CompletableFuture<Void> delay(int attempt) {
+        Executor delayed = CompletableFuture.delayedExecutor(delayMillis(attempt), TimeUnit.MILLISECONDS);
+        return CompletableFuture.runAsync(() -> { }, delayed);
+    }
+}
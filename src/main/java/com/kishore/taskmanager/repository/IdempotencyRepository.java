@@ -0,0 +1,200 @@
+package com.kishore.taskmanager.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyInProgressException;
+import com.kishore.taskmanager.model.IdempotencyRecord;
+import com.kishore.taskmanager.model.Task;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+/**
+ * Idempotency keys of task creates, one item per key in the {@value #TABLE_NAME} table.
+ * A key is claimed with a conditional put that also stores the response, so the first
+ * request to claim it wins and every later one gets the stored response back from the
+ * failed condition, without a separate read. The response only counts once the claim is
+ * {@link #createCompleted completed}, in the same transaction that writes the task; until
+ * then a claim holds the key for {@code claim-timeout} and afterwards for {@code ttl}. Items expire through the table's TTL on
+ * {@code expiresAt}; until DynamoDB deletes them, expired items count as absent.
+ *
+ * <p>Completed keys this container has seen are also held in a small local cache, so a
+ * retry landing on the same container costs no DynamoDB call at all.
+ */
+@Repository
+public class IdempotencyRepository {
+
+    static final String TABLE_NAME = "TaskIdempotencyKeys";
+
+    private static final String KEY = "idempotencyKey";
+    private static final String REQUEST_HASH = "requestHash";
+    private static final String EXPIRES_AT = "expiresAt";
+    private static final String COMPLETED = "completed";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final TaskRepository taskRepository;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Cache<String, IdempotencyRecord> recent;
+
+    public IdempotencyRepository(DynamoDbClient dynamoDbClient, TaskRepository taskRepository, DynamoProperties props) {
+        DynamoProperties.Idempotency config = props.getIdempotency();
+        this.dynamoDbClient = dynamoDbClient;
+        this.taskRepository = taskRepository;
+        this.ttl = config.getTtl();
+        this.claimTimeout = config.getClaimTimeout();
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(config.getLocalCacheSize())
+            .expireAfterWrite(config.getLocalCacheTtl())
+            .build();
+    }
+
+    /**
+     * Claims {@code key} for {@code record}. Returns empty when the key was free and is now
+     * held by this request, or the record of the request that claimed it first, which is
+     * not {@link IdempotencyRecord#isCompleted() completed} while that request still runs.
+     */
+    public Optional<IdempotencyRecord> claim(String key, IdempotencyRecord record) {
+        IdempotencyRecord seen = recent.getIfPresent(key);
+        if (seen != null) {
+            return Optional.of(copy(seen));
+        }
+        return claim(key, record, true);
+    }
+
+    private Optional<IdempotencyRecord> claim(String key, IdempotencyRecord record, boolean retryIfReleased) {
+        long now = Instant.now().getEpochSecond();
+        try {
+            dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .item(item(key, record, now + claimTimeout.getSeconds()))
+                .conditionExpression("attribute_not_exists(#key) OR #expiresAt < :now")
+                .expressionAttributeNames(Map.of("#key", KEY, "#expiresAt", EXPIRES_AT))
+                .expressionAttributeValues(Map.of(":now", AttributeValue.fromN(Long.toString(now))))
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build());
+            return Optional.empty();
+        } catch (ConditionalCheckFailedException e) {
+            Map<String, AttributeValue> stored = e.hasItem() ? e.item() : readStored(key);
+            if (!stored.containsKey(REQUEST_HASH)) {
+                // The holder's create failed and released the key after our put was rejected.
+                if (retryIfReleased) {
+                    return claim(key, record, false);
+                }
+                throw new IdempotencyKeyInProgressException(key);
+            }
+            IdempotencyRecord first = record(stored);
+            if (first.isCompleted()) {
+                recent.put(key, first);
+            }
+            return Optional.of(copy(first));
+        }
+    }
+
+    /**
+     * Writes the task of a claimed key and marks the key completed, so repeats get the
+     * task back, in one transaction: a task is never written without its key being kept
+     * for {@code ttl}. The transaction is cancelled if the claim has meanwhile timed out
+     * and been taken over.
+     */
+    public void createCompleted(String key, IdempotencyRecord record) {
+        TransactWriteItem complete = TransactWriteItem.builder().update(Update.builder()
+            .tableName(TABLE_NAME)
+            .key(Map.of(KEY, AttributeValue.fromS(key)))
+            .updateExpression("SET #completed = :true, #expiresAt = :expiresAt")
+            .conditionExpression("#taskId = :taskId")
+            .expressionAttributeNames(Map.of("#completed", COMPLETED, "#expiresAt", EXPIRES_AT, "#taskId", "taskId"))
+            .expressionAttributeValues(Map.of(
+                ":true", AttributeValue.fromBool(true),
+                ":expiresAt", AttributeValue.fromN(Long.toString(Instant.now().getEpochSecond() + ttl.getSeconds())),
+                ":taskId", AttributeValue.fromS(record.getTask().getId())))
+            .build()).build();
+
+        taskRepository.createTask(record.getTask(), List.of(complete));
+        recent.put(key, new IdempotencyRecord(record.getRequestHash(), TaskCache.copy(record.getTask()), true));
+    }
+
+    /**
+     * Frees a claimed key whose create failed, so a retry can try again. A claim that has
+     * meanwhile been taken over by another request is left alone.
+     */
+    public void release(String key, IdempotencyRecord record) {
+        recent.invalidate(key);
+        try {
+            dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(Map.of(KEY, AttributeValue.fromS(key)))
+                .conditionExpression("#taskId = :taskId")
+                .expressionAttributeNames(Map.of("#taskId", "taskId"))
+                .expressionAttributeValues(Map.of(":taskId", AttributeValue.fromS(record.getTask().getId())))
+                .build());
+        } catch (ConditionalCheckFailedException e) {
+            // Another request holds the key now.
+        }
+    }
+
+    private Map<String, AttributeValue> readStored(String key) {
+        return dynamoDbClient.getItem(GetItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(Map.of(KEY, AttributeValue.fromS(key)))
+            .consistentRead(true)
+            .build())
+            .item();
+    }
+
+    private static IdempotencyRecord copy(IdempotencyRecord record) {
+        return new IdempotencyRecord(record.getRequestHash(), TaskCache.copy(record.getTask()), record.isCompleted());
+    }
+
+    private static Map<String, AttributeValue> item(String key, IdempotencyRecord record, long expiresAt) {
+        Task task = record.getTask();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(KEY, AttributeValue.fromS(key));
+        item.put(REQUEST_HASH, AttributeValue.fromS(record.getRequestHash()));
+        item.put(EXPIRES_AT, AttributeValue.fromN(Long.toString(expiresAt)));
+        putIfPresent(item, "taskId", task.getId());
+        putIfPresent(item, "title", task.getTitle());
+        putIfPresent(item, "description", task.getDescription());
+        putIfPresent(item, "status", task.getStatus());
+        return item;
+    }
+
+    private static IdempotencyRecord record(Map<String, AttributeValue> item) {
+        Task task = new Task();
+        task.setId(stringOrNull(item, "taskId"));
+        task.setTitle(stringOrNull(item, "title"));
+        task.setDescription(stringOrNull(item, "description"));
+        task.setStatus(stringOrNull(item, "status"));
+        AttributeValue completed = item.get(COMPLETED);
+        return new IdempotencyRecord(stringOrNull(item, REQUEST_HASH), task,
+            completed != null && Boolean.TRUE.equals(completed.bool()));
+    }
+
+    private static void putIfPresent(Map<String, AttributeValue> item, String name, String value) {
+        if (value != null) {
+            item.put(name, AttributeValue.fromS(value));
+        }
+    }
+
+    private static String stringOrNull(Map<String, AttributeValue> item, String name) {
+        AttributeValue value = item.get(name);
+        return value == null ? null : value.s();
+    }
+}
@@ -0,0 +1,61 @@
+package com.kishore.taskmanager.repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Encodes DynamoDB {@code LastEvaluatedKey} maps as opaque, URL-safe page tokens
+ * and back into {@code ExclusiveStartKey} maps. Every key attribute of the table
+ * and its indexes is a string, so a token is just the base64 of a small JSON object.
+ */
+final class PageTokens {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> KEY_TYPE = new TypeReference<>() {};
+    private static final Set<String> KEY_ATTRIBUTES = Set.of("id", "status");
+
+    private PageTokens() {
+    }
+
+    static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> key = new LinkedHashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name, value.s()));
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(key));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode page token", e);
+        }
+    }
+
+    static Map<String, AttributeValue> decode(String token) {
+        Map<String, String> key;
+        try {
+            key = MAPPER.readValue(Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII)), KEY_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid nextToken");
+        }
+
+        if (key == null || !key.containsKey("id") || !KEY_ATTRIBUTES.containsAll(key.keySet())
+                || key.values().stream().anyMatch(v -> v == null || v.isEmpty())) {
+            throw new IllegalArgumentException("Invalid nextToken");
+        }
+
+        Map<String, AttributeValue> exclusiveStartKey = new LinkedHashMap<>();
+        key.forEach((name, value) -> exclusiveStartKey.put(name, AttributeValue.fromS(value)));
+        return exclusiveStartKey;
+    }
+}
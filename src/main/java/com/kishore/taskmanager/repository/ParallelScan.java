@@ -0,0 +1,135 @@
+package com.kishore.taskmanager.repository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.kishore.taskmanager.model.Task;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+/**
+ * Scans a table with {@code totalSegments} concurrent segment workers and merges their
+ * pages into a single stream. Workers hand pages over through a small bounded queue, so
+ * at most a few pages are held in memory no matter how large the table is; a worker
+ * that gets ahead of the consumer simply waits. Page order across segments is arbitrary.
+ *
+ * <p>The returned stream must be closed; closing it early stops the remaining workers.
+ */
+final class ParallelScan implements Iterator<List<Task>> {
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final int totalSegments;
+    private int finishedSegments;
+    private List<Task> next;
+
+    private ParallelScan(int totalSegments) {
+        this.totalSegments = totalSegments;
+        this.queue = new ArrayBlockingQueue<>(totalSegments * 2);
+    }
+
+    static Stream<List<Task>> pages(DynamoDbTable<Task> table, int totalSegments, Executor executor,
+            Supplier<ScanEnhancedRequest.Builder> request) {
+        ParallelScan scan = new ParallelScan(totalSegments);
+        for (int segment = 0; segment < totalSegments; segment++) {
+            ScanEnhancedRequest segmentRequest = request.get()
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .build();
+            executor.execute(() -> scan.produce(table, segmentRequest));
+        }
+
+        Spliterator<List<Task>> spliterator = Spliterators.spliteratorUnknownSize(scan, Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> scan.cancelled.set(true));
+    }
+
+    private void produce(DynamoDbTable<Task> table, ScanEnhancedRequest request) {
+        try {
+            for (Page<Task> page : table.scan(request)) {
+                if (!page.items().isEmpty() && !offer(page.items())) {
+                    return;
+                }
+            }
+            offer(SegmentDone.INSTANCE);
+        } catch (RuntimeException e) {
+            offer(new SegmentFailed(e));
+        }
+    }
+
+    /** Blocks until there is room in the queue; gives up once the consumer has gone away. */
+    private boolean offer(Object item) {
+        try {
+            while (!queue.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        while (next == null && finishedSegments < totalSegments) {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                cancelled.set(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for scan results", e);
+            }
+
+            if (item == SegmentDone.INSTANCE) {
+                finishedSegments++;
+            } else if (item instanceof SegmentFailed failed) {
+                cancelled.set(true);
+                throw failed.error;
+            } else {
+                next = (List<Task>) item;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public List<Task> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Task> page = next;
+        next = null;
+        return page;
+    }
+
+    private enum SegmentDone {
+        INSTANCE
+    }
+
+    private static final class SegmentFailed {
+        private final RuntimeException error;
+
+        SegmentFailed(RuntimeException error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kishore.taskmanager.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the
+ * loader, callers arriving while it is in flight wait for and share its result or
+ * exception. Nothing is kept once the load finishes, so this is not a cache.
+ *
+ * <p>Only the per-key entry in a {@link ConcurrentHashMap} is contended, so callers
+ * for different keys never wait on each other.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final UnaryOperator<V> shareCopy;
+
+    /** @param shareCopy applied to the result handed to each waiting caller; may return its argument */
+    SingleFlight(UnaryOperator<V> shareCopy) {
+        this.shareCopy = shareCopy;
+    }
+
+    V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the in-flight load for {@code key}, if any, so that callers arriving after
+     * a write start a fresh load instead of sharing one that may predate the write.
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** Number of calls that were served by another caller's load. */
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private V join(CompletableFuture<V> flight) {
+        try {
+            V value = flight.join();
+            return value == null ? null : shareCopy.apply(value);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
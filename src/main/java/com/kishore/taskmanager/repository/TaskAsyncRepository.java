@@ -0,0 +1,343 @@
+package com.kishore.taskmanager.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import com.kishore.taskmanager.config.DynamoDbRateGovernor;
+import com.kishore.taskmanager.config.DynamoDbRateGovernor.Budget;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.metrics.DynamoDbMetrics;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskLookupResult;
+import com.kishore.taskmanager.model.TaskSchema;
+import com.kishore.taskmanager.model.TaskWriteResult;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Non-blocking counterpart of {@link TaskRepository} for calls that fan out.
+ * Every chunk of a batch is an in-flight request on the async HTTP client rather
+ * than a blocked thread, and retries are scheduled instead of slept. Calls wait for the
+ * {@link DynamoDbRateGovernor client-side rate limit} the same way.
+ */
+@Repository
+public class TaskAsyncRepository {
+
+    /** DynamoDB rejects a BatchWriteItem call with more than 25 put or delete requests. */
+    static final int MAX_BATCH_WRITE_ITEMS = 25;
+
+    /** DynamoDB rejects a BatchGetItem call with more than 100 keys. */
+    static final int MAX_BATCH_GET_KEYS = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskAsyncRepository.class);
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final DynamoDbEnhancedAsyncClient enhancedClient;
+    private final DynamoDbAsyncTable<Task> taskTable;
+    private final int batchMaxAttempts;
+    private final TaskCache cache;
+    private final DynamoDbRateGovernor governor;
+    private final boolean countStatuses;
+
+    public TaskAsyncRepository(DynamoDbAsyncClient dynamoDbAsyncClient, DynamoProperties props, TaskCache cache,
+            DynamoDbRateGovernor governor) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.enhancedClient = DynamoDbEnhancedAsyncClient.builder()
+            .dynamoDbClient(dynamoDbAsyncClient)
+            .build();
+
+        this.taskTable = enhancedClient.table(TaskRepository.TABLE_NAME, TaskSchema.INSTANCE);
+        this.batchMaxAttempts = props.getBatchMaxAttempts();
+        this.cache = cache;
+        this.governor = governor;
+        this.countStatuses = props.getStats().getMaintenance() == DynamoProperties.Stats.Maintenance.TRANSACTIONAL;
+    }
+
+    public CompletableFuture<Task> getTask(String id) {
+        return paced(DynamoDbMetrics.currentEndpoint(), governor.pace(TaskRepository.TABLE_NAME, Budget.READ, 1),
+            () -> taskTable.getItem(Key.builder().partitionValue(id).build()));
+    }
+
+    /**
+     * Writes the tasks with BatchWriteItem in chunks of {@value #MAX_BATCH_WRITE_ITEMS},
+     * all chunks in flight at once. Items DynamoDB reports as unprocessed are retried
+     * with jittered backoff; anything still unprocessed after the last attempt, or in a
+     * chunk that failed outright, is reported as failed. Results follow the input order.
+     */
+    public CompletableFuture<List<TaskWriteResult>> saveTasks(List<Task> tasks) {
+        List<CompletableFuture<List<TaskWriteResult>>> chunks = new ArrayList<>();
+        String endpoint = DynamoDbMetrics.currentEndpoint();
+        for (int from = 0; from < tasks.size(); from += MAX_BATCH_WRITE_ITEMS) {
+            chunks.add(writeChunk(tasks.subList(from, Math.min(from + MAX_BATCH_WRITE_ITEMS, tasks.size())), endpoint));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+            .thenApply(done -> chunks.stream()
+                .flatMap(chunk -> chunk.join().stream())
+                .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<List<TaskWriteResult>> writeChunk(List<Task> chunk, String endpoint) {
+        return writeAttempt(chunk, 1, endpoint).handle((unprocessed, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                logger.warn("Batch write of {} tasks failed", chunk.size(), cause);
+                // Part of the chunk may have been written on an earlier attempt.
+                chunk.forEach(task -> cache.invalidate(task.getId()));
+                return chunk.stream()
+                    .map(task -> TaskWriteResult.failed(task.getId(), cause.getMessage()))
+                    .collect(Collectors.toList());
+            }
+
+            return chunk.stream()
+                .map(task -> {
+                    if (unprocessed.contains(task.getId())) {
+                        cache.invalidate(task.getId());
+                        return TaskWriteResult.failed(task.getId(), "Unprocessed after " + batchMaxAttempts + " attempts");
+                    }
+                    cache.put(task);
+                    return TaskWriteResult.written(task.getId());
+                })
+                .collect(Collectors.toList());
+        });
+    }
+
+    /** Resolves to the ids still unprocessed once the attempts are used up. */
+    private CompletableFuture<Set<String>> writeAttempt(List<Task> pending, int attempt, String endpoint) {
+        WriteBatch.Builder<Task> batch = WriteBatch.builder(Task.class).mappedTableResource(taskTable);
+        pending.forEach(batch::addPutItem);
+
+        return paced(endpoint, governor.pace(TaskRepository.TABLE_NAME, Budget.WRITE, pending.size()),
+            () -> enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder().writeBatches(batch.build()).build()))
+            .thenCompose(result -> {
+                List<Task> unprocessed = result.unprocessedPutItemsForTable(taskTable);
+                if (unprocessed.isEmpty() || attempt >= batchMaxAttempts) {
+                    return CompletableFuture.completedFuture(
+                        unprocessed.stream().map(Task::getId).collect(Collectors.toSet()));
+                }
+
+                logger.debug("Retrying {} unprocessed task writes (attempt {})", unprocessed.size(), attempt + 1);
+                return Backoff.delay(attempt).thenCompose(ignored -> writeAttempt(unprocessed, attempt + 1, endpoint));
+            });
+    }
+
+    /**
+     * Deletes the tasks that are still in {@code status}, with one DeleteItem conditioned
+     * on the status per task, all in flight at once. A task that moved on, or is already
+     * gone, is SKIPPED. Results follow the input order. Status counters, when maintained,
+     * are decreased once by the number deleted.
+     */
+    public CompletableFuture<List<TaskWriteResult>> deleteTasksInStatus(List<String> ids, String status) {
+        List<CompletableFuture<TaskWriteResult>> deletes = ids.stream()
+            .map(id -> deleteTask(id, status))
+            .collect(Collectors.toList());
+
+        CompletableFuture<List<TaskWriteResult>> results = allResults(deletes);
+        String endpoint = DynamoDbMetrics.currentEndpoint();
+        return countStatuses ? results.thenCompose(deleted -> adjustCounts(deleted, status, null, endpoint)) : results;
+    }
+
+    private CompletableFuture<TaskWriteResult> deleteTask(String id, String status) {
+        DeleteItemRequest request = DeleteItemRequest.builder()
+            .tableName(TaskRepository.TABLE_NAME)
+            .key(Map.of("id", AttributeValue.fromS(id)))
+            .conditionExpression("#status = :from")
+            .expressionAttributeNames(Map.of("#status", "status"))
+            .expressionAttributeValues(Map.of(":from", AttributeValue.fromS(status)))
+            .build();
+
+        return conditionalWrite(id, status,
+            paced(DynamoDbMetrics.currentEndpoint(), governor.pace(request), () -> dynamoDbAsyncClient.deleteItem(request)),
+            true);
+    }
+
+    /**
+     * Moves each task from status {@code from} to {@code to} with one conditional
+     * UpdateItem per task, all in flight at once. A task whose status is no longer
+     * {@code from}, or that was deleted meanwhile, is SKIPPED. Results follow the input order.
+     * Status counters, when maintained, are moved once by the number updated.
+     */
+    public CompletableFuture<List<TaskWriteResult>> transitionTasks(List<String> ids, String from, String to) {
+        List<CompletableFuture<TaskWriteResult>> updates = ids.stream()
+            .map(id -> transitionTask(id, from, to))
+            .collect(Collectors.toList());
+
+        CompletableFuture<List<TaskWriteResult>> results = allResults(updates);
+        String endpoint = DynamoDbMetrics.currentEndpoint();
+        return countStatuses ? results.thenCompose(written -> adjustCounts(written, from, to, endpoint)) : results;
+    }
+
+    private CompletableFuture<TaskWriteResult> transitionTask(String id, String from, String to) {
+        UpdateItemRequest request = UpdateItemRequest.builder()
+            .tableName(TaskRepository.TABLE_NAME)
+            .key(Map.of("id", AttributeValue.fromS(id)))
+            .updateExpression("SET #status = :to")
+            .conditionExpression("#status = :from")
+            .expressionAttributeNames(Map.of("#status", "status"))
+            .expressionAttributeValues(Map.of(":from", AttributeValue.fromS(from), ":to", AttributeValue.fromS(to)))
+            .build();
+
+        return conditionalWrite(id, from,
+            paced(DynamoDbMetrics.currentEndpoint(), governor.pace(request), () -> dynamoDbAsyncClient.updateItem(request)),
+            false);
+    }
+
+    /** Maps the outcome of a write conditioned on the task still being in {@code status}. */
+    private CompletableFuture<TaskWriteResult> conditionalWrite(String id, String status,
+            CompletableFuture<?> write, boolean delete) {
+        return write.handle((response, error) -> {
+            if (error == null) {
+                if (delete) {
+                    cache.markDeleted(id);
+                } else {
+                    cache.invalidate(id);
+                }
+                return TaskWriteResult.written(id);
+            }
+
+            cache.invalidate(id);
+            Throwable cause = unwrap(error);
+            if (cause instanceof ConditionalCheckFailedException) {
+                return TaskWriteResult.skipped(id, "Status is no longer " + status);
+            }
+            logger.warn("Conditional {} of task {} failed", delete ? "delete" : "update", id, cause);
+            return TaskWriteResult.failed(id, cause.getMessage());
+        });
+    }
+
+    /**
+     * Moves the written tasks' count from {@code from} to {@code to} in the status counters.
+     * A failed adjustment is logged and left for reconciliation; the writes stand.
+     */
+    private CompletableFuture<List<TaskWriteResult>> adjustCounts(List<TaskWriteResult> results, String from, String to,
+            String endpoint) {
+        long written = results.stream().filter(r -> r.getStatus() == TaskWriteResult.Status.WRITTEN).count();
+        if (written == 0) {
+            return CompletableFuture.completedFuture(results);
+        }
+
+        List<CompletableFuture<?>> adjustments = new ArrayList<>();
+        if (from != null) {
+            adjustments.add(adjust(TaskStatsRepository.adjustment(from, -written), endpoint));
+        }
+        if (to != null) {
+            adjustments.add(adjust(TaskStatsRepository.adjustment(to, written), endpoint));
+        }
+        return CompletableFuture.allOf(adjustments.toArray(CompletableFuture[]::new))
+            .handle((done, error) -> {
+                if (error != null) {
+                    logger.warn("Could not adjust status counters by {} ({} -> {})", written, from, to, unwrap(error));
+                }
+                return results;
+            });
+    }
+
+    private CompletableFuture<?> adjust(UpdateItemRequest request, String endpoint) {
+        return paced(endpoint, governor.pace(request), () -> dynamoDbAsyncClient.updateItem(request));
+    }
+
+    /**
+     * Starts {@code call} once {@code pacing} completes, tagged with {@code endpoint}. A call
+     * that had to wait starts on a timer thread, where the HTTP request is no longer bound,
+     * so the endpoint is read on the request's thread before pacing.
+     */
+    private static <T> CompletableFuture<T> paced(String endpoint, CompletableFuture<Void> pacing,
+            Supplier<CompletableFuture<T>> call) {
+        return pacing.thenCompose(ready -> DynamoDbMetrics.withEndpoint(endpoint, call));
+    }
+
+    private static <T> CompletableFuture<List<T>> allResults(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(done -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    /**
+     * Reads the given (distinct) ids with BatchGetItem in chunks of {@value #MAX_BATCH_GET_KEYS}
+     * keys, all chunks in flight at once. UnprocessedKeys are re-requested with jittered
+     * backoff. The result holds a FOUND entry per stored task and an UNPROCESSED entry per
+     * key that could not be read; ids absent from the map do not exist.
+     */
+    public CompletableFuture<Map<String, TaskLookupResult>> getTasks(List<String> ids) {
+        List<CompletableFuture<Map<String, TaskLookupResult>>> chunks = new ArrayList<>();
+        String endpoint = DynamoDbMetrics.currentEndpoint();
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_GET_KEYS) {
+            chunks.add(readChunk(ids.subList(from, Math.min(from + MAX_BATCH_GET_KEYS, ids.size())), endpoint));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+            .thenApply(done -> {
+                Map<String, TaskLookupResult> results = new HashMap<>();
+                chunks.forEach(chunk -> results.putAll(chunk.join()));
+                return results;
+            });
+    }
+
+    private CompletableFuture<Map<String, TaskLookupResult>> readChunk(List<String> ids, String endpoint) {
+        Map<String, TaskLookupResult> results = new HashMap<>();
+
+        return readAttempt(ids, 1, results, endpoint).handle((ignored, error) -> {
+            if (error != null) {
+                logger.warn("Batch read of {} tasks failed", ids.size(), unwrap(error));
+                ids.stream()
+                    .filter(id -> !results.containsKey(id))
+                    .forEach(id -> results.put(id, TaskLookupResult.unprocessed(id)));
+            }
+            return results;
+        });
+    }
+
+    private CompletableFuture<Void> readAttempt(List<String> ids, int attempt, Map<String, TaskLookupResult> results,
+            String endpoint) {
+        ReadBatch.Builder<Task> batch = ReadBatch.builder(Task.class).mappedTableResource(taskTable);
+        ids.forEach(id -> batch.addGetItem(Key.builder().partitionValue(id).build()));
+
+        List<String> unprocessed = new ArrayList<>();
+        // Only the first page is consumed: the retry of UnprocessedKeys is driven here so
+        // that it can be delayed, rather than by the publisher's immediate re-request.
+        return paced(endpoint, governor.pace(TaskRepository.TABLE_NAME, Budget.READ, ids.size()),
+            () -> enhancedClient.batchGetItem(BatchGetItemEnhancedRequest.builder().readBatches(batch.build()).build())
+                .limit(1)
+                .subscribe(page -> {
+                    page.resultsForTable(taskTable).forEach(task -> results.put(task.getId(), TaskLookupResult.found(task)));
+                    page.unprocessedKeysForTable(taskTable).forEach(key -> unprocessed.add(key.partitionKeyValue().s()));
+                }))
+            .thenCompose(done -> {
+                if (unprocessed.isEmpty()) {
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+                if (attempt >= batchMaxAttempts) {
+                    unprocessed.forEach(id -> results.put(id, TaskLookupResult.unprocessed(id)));
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+
+                logger.debug("Retrying {} unprocessed task reads (attempt {})", unprocessed.size(), attempt + 1);
+                return Backoff.delay(attempt).thenCompose(ignored -> readAttempt(unprocessed, attempt + 1, results, endpoint));
+            });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,145 @@
+package com.kishore.taskmanager.repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.Task;
+
+/**
+ * Bounded read-through cache in front of single-task reads. Entries are evicted by
+ * Caffeine's W-TinyLFU policy once {@code maximum-size} is reached and expire after
+ * {@code ttl}; misses are remembered for the shorter {@code negative-ttl}. Writes go
+ * through the repositories, which refresh or invalidate the affected entry. A write always
+ * wins over a read-through load that was in flight when it happened: the load returns its
+ * result to its caller but leaves the cache alone.
+ *
+ * <p>When disabled every call falls straight through to the loader.
+ */
+@Component
+public class TaskCache {
+
+    private static final int WRITE_STRIPES = 1024;
+
+    private final Cache<String, Optional<Task>> cache;
+    /** Writes per stripe of ids; a load only fills the cache if its stripe saw none meanwhile. */
+    private final AtomicLongArray writes = new AtomicLongArray(WRITE_STRIPES);
+
+    public TaskCache(DynamoProperties props) {
+        DynamoProperties.Cache config = props.getCache();
+        this.cache = config.isEnabled()
+            ? Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new HitOrMissExpiry(config.getTtl(), config.getNegativeTtl()))
+                .recordStats()
+                .build()
+            : null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached task, or loads and caches it. A {@code null} result from the
+     * loader is cached as a miss.
+     */
+    public Task get(String id, Function<String, Task> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+
+        Optional<Task> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached.map(TaskCache::copy).orElse(null);
+        }
+
+        int stripe = stripe(id);
+        long writesBefore = writes.get(stripe);
+        Task loaded = loader.apply(id);
+        cache.asMap().compute(id, (key, current) -> current != null || writes.get(stripe) != writesBefore
+            ? current
+            : Optional.ofNullable(loaded).map(TaskCache::copy));
+        return loaded;
+    }
+
+    /** Records the state of a task that was just written. */
+    public void put(Task task) {
+        if (cache != null) {
+            writes.incrementAndGet(stripe(task.getId()));
+            cache.put(task.getId(), Optional.of(copy(task)));
+        }
+    }
+
+    /** Records that a task was just deleted, so the next read is a cached miss. */
+    public void markDeleted(String id) {
+        if (cache != null) {
+            writes.incrementAndGet(stripe(id));
+            cache.put(id, Optional.empty());
+        }
+    }
+
+    public void invalidate(String id) {
+        if (cache != null) {
+            writes.incrementAndGet(stripe(id));
+            cache.invalidate(id);
+        }
+    }
+
+    /** Hit, miss, load and eviction counts; all zero when the cache is disabled. */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private static int stripe(String id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % WRITE_STRIPES;
+    }
+
+    /** Callers get their own instance, so mutating a returned task never alters the cache. */
+    static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setStatus(task.getStatus());
+        return copy;
+    }
+
+    private static final class HitOrMissExpiry implements Expiry<String, Optional<Task>> {
+
+        private final long hitNanos;
+        private final long missNanos;
+
+        HitOrMissExpiry(Duration ttl, Duration negativeTtl) {
+            this.hitNanos = ttl.toNanos();
+            this.missNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<Task> value, long currentTime) {
+            return value.isPresent() ? hitNanos : missNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<Task> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<Task> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
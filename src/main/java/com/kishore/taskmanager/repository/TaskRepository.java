@@ -1,68 +1,586 @@
 package com.kishore.taskmanager.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import com.kishore.taskmanager.config.DynamoProperties;
 import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskSchema;
+import com.kishore.taskmanager.model.TaskWriteResult;
 
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 
 @Repository
 public class TaskRepository {
 
+    static final String TABLE_NAME = "Tasks";
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskRepository.class);
+
+    private final DynamoDbClient dynamoDbClient;
     private final DynamoDbTable<Task> taskTable;
+    private final DynamoDbIndex<Task> statusIndex;
+    private final TaskCache cache;
+    private final Executor scanExecutor;
+    private final Executor countedWriteExecutor;
+    private final int scanSegments;
+    private final SingleFlight<String, Task> reads;
+    private final WriteBehindBuffer writeBehind;
+    private final boolean countStatuses;
+    private final int countedWriteAttempts;
 
-    public TaskRepository(DynamoDbClient dynamoDbClient) {
+    public TaskRepository(DynamoDbClient dynamoDbClient, TaskCache cache, WriteBehindBuffer writeBehind,
+            DynamoProperties props, @Qualifier("scanExecutor") Executor scanExecutor,
+            @Qualifier("countedWriteExecutor") Executor countedWriteExecutor) {
         DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
             .dynamoDbClient(dynamoDbClient)
             .build();
 
-        this.taskTable = enhancedClient.table("Tasks", TableSchema.fromBean(Task.class));
+        this.dynamoDbClient = dynamoDbClient;
+        this.taskTable = enhancedClient.table(TABLE_NAME, TaskSchema.INSTANCE);
+        this.statusIndex = taskTable.index(TaskSchema.STATUS_INDEX);
+        this.cache = cache;
+        this.scanExecutor = scanExecutor;
+        this.countedWriteExecutor = countedWriteExecutor;
+        this.scanSegments = props.getScanSegments();
+        this.reads = props.isCoalesceReads() ? new SingleFlight<>(TaskCache::copy) : null;
+        this.writeBehind = writeBehind;
+        this.countStatuses = props.getStats().getMaintenance() == DynamoProperties.Stats.Maintenance.TRANSACTIONAL;
+        this.countedWriteAttempts = props.getStats().getWriteAttempts();
     }
 
+    /**
+     * Reads a task through the cache. Concurrent misses for the same id share a single
+     * GetItem unless {@code coalesce-reads} is off.
+     */
     public Task getTask(String id) {
-        return taskTable.getItem(Key.builder().partitionValue(id).build());
+        Task buffered = writeBehind.peek(id);
+        if (buffered != null) {
+            return buffered;
+        }
+        return cache.get(id, key -> reads == null ? loadTask(key) : reads.load(key, this::loadTask));
+    }
+
+    /** Number of reads answered by another caller's in-flight GetItem. */
+    public long coalescedReads() {
+        return reads == null ? 0 : reads.coalescedCount();
+    }
+
+    /**
+     * Reads only the given attributes through a {@code ProjectionExpression}. With the
+     * cache enabled the full task is read through it instead and trimmed in memory.
+     * An empty field list reads the whole task.
+     */
+    public Task getTask(String id, List<String> fields) {
+        if (fields.isEmpty()) {
+            return getTask(id);
+        }
+        Task buffered = writeBehind.peek(id);
+        if (buffered != null) {
+            return project(buffered, fields);
+        }
+        if (cache.isEnabled()) {
+            return project(getTask(id), fields);
+        }
+
+        Map<String, String> names = new HashMap<>();
+        fields.forEach(field -> names.put("#" + field, field));
+
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(Map.of("id", AttributeValue.fromS(id)))
+            .projectionExpression(String.join(", ", names.keySet()))
+            .expressionAttributeNames(names)
+            .build());
+        return response.hasItem() && !response.item().isEmpty() ? TaskSchema.INSTANCE.mapToItem(response.item()) : null;
+    }
+
+    /**
+     * Writes a task under a freshly generated id. When status counters are maintained,
+     * no read is needed: the put is conditioned on the id being new.
+     */
+    public void createTask(Task task) {
+        if (!countStatuses) {
+            saveTask(task);
+            return;
+        }
+        createTask(task, List.of());
+    }
+
+    /**
+     * Creates the task in one transaction with {@code alongside}, so neither is written
+     * without the other. The status counters move with it while they are maintained.
+     */
+    public void createTask(Task task, List<TransactWriteItem> alongside) {
+        List<TransactWriteItem> items = transaction(put(task, StoredStatus.ABSENT),
+            countStatuses ? TaskStatsRepository.countChange(null, task.getStatus()) : List.of());
+        items.addAll(alongside);
+        try {
+            dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder().transactItems(items).build());
+        } catch (RuntimeException e) {
+            cache.invalidate(task.getId());
+            throw e;
+        }
+        cache.put(task);
     }
 
     public void saveTask(Task task) {
-        taskTable.putItem(task);
+        writeBehind.settle(List.of(task.getId()));
+        forgetRead(task.getId());
+        try {
+            if (countStatuses) {
+                countedWrite(task.getId(), stored -> transaction(put(task, stored),
+                    TaskStatsRepository.countChange(stored.status(), task.getStatus())));
+            } else {
+                taskTable.putItem(task);
+            }
+        } catch (RuntimeException e) {
+            cache.invalidate(task.getId());
+            throw e;
+        }
+        cache.put(task);
+    }
+
+    /**
+     * Writes each task with {@link #saveTask}, in parallel on the counted-write executor, so the
+     * status counters move with every write. Results follow the input order. Only needed
+     * while the counters are maintained transactionally; BatchWriteItem cannot carry them.
+     */
+    public CompletableFuture<List<TaskWriteResult>> saveTasksCounted(List<Task> tasks) {
+        List<CompletableFuture<TaskWriteResult>> writes = tasks.stream()
+            .map(task -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    saveTask(task);
+                    return TaskWriteResult.written(task.getId());
+                } catch (RuntimeException e) {
+                    logger.warn("Counted write of task {} failed", task.getId(), e);
+                    return TaskWriteResult.failed(task.getId(), e.getMessage());
+                }
+            }, countedWriteExecutor))
+            .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new))
+            .thenApply(done -> writes.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    /** Whether task writes adjust the status counters in the same transaction. */
+    public boolean countsStatuses() {
+        return countStatuses;
+    }
+
+    /**
+     * Hands the task to the write-behind buffer. Returns {@code false} when it was not
+     * buffered and must be written with {@link #saveTask} instead, which is always the
+     * case while status counters are maintained transactionally.
+     */
+    public boolean saveTaskLater(Task task) {
+        return !countStatuses && writeBehind.offer(task);
+    }
+
+    /** Persists buffered writes to these ids, ahead of a write that bypasses the buffer. */
+    public void settleBufferedWrites(Collection<String> ids) {
+        writeBehind.settle(ids);
     }
 
     public void deleteTask(String id) {
-        taskTable.deleteItem(Key.builder().partitionValue(id).build());
+        writeBehind.settle(List.of(id));
+        forgetRead(id);
+        try {
+            if (countStatuses) {
+                countedWrite(id, stored -> !stored.exists() ? List.of() : transaction(
+                    TransactWriteItem.builder().delete(Delete.builder()
+                        .tableName(TABLE_NAME)
+                        .key(key(id))
+                        .conditionExpression(stored.condition())
+                        .expressionAttributeNames(stored.names())
+                        .expressionAttributeValues(nullIfEmpty(stored.values()))
+                        .build()).build(),
+                    TaskStatsRepository.countChange(stored.status(), null)));
+            } else {
+                taskTable.deleteItem(Key.builder().partitionValue(id).build());
+            }
+        } catch (RuntimeException e) {
+            cache.invalidate(id);
+            throw e;
+        }
+        cache.markDeleted(id);
     }
 
-	/*
-	 * public List<Task> getAllTasks() { return
-	 * StreamSupport.stream(taskTable.scan().items().spliterator(), false)
-	 * .collect(Collectors.toList()); }
-	 */
-    
+    /**
+     * Applies a partial update in one conditional UpdateItem: attributes mapped to a value
+     * are SET, attributes mapped to {@code null} are REMOVEd and all others are left alone.
+     * Returns a task holding the id and the values that were set, or empty when no task
+     * with that id exists.
+     */
+    public Optional<Task> patchTask(String id, Map<String, String> changes) {
+        writeBehind.settle(List.of(id));
 
-    public List<Task> getAllTasks(Optional<String> statusFilter, Optional<Integer> limit) {
-        ScanEnhancedRequest.Builder requestBuilder = ScanEnhancedRequest.builder();
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> set = new ArrayList<>();
+        List<String> remove = new ArrayList<>();
 
-        limit.ifPresent(requestBuilder::limit); // ✅ apply limit here
+        names.put("#id", "id");
+        changes.forEach((attribute, value) -> {
+            names.put("#" + attribute, attribute);
+            if (value == null) {
+                remove.add("#" + attribute);
+            } else {
+                values.put(":" + attribute, AttributeValue.fromS(value));
+                set.add("#" + attribute + " = :" + attribute);
+            }
+        });
 
-        var scanRequest = requestBuilder.build();
-        var results = StreamSupport.stream(taskTable.scan(scanRequest).items().spliterator(), false);
+        StringBuilder expression = new StringBuilder();
+        if (!set.isEmpty()) {
+            expression.append("SET ").append(String.join(", ", set));
+        }
+        if (!remove.isEmpty()) {
+            expression.append(expression.length() > 0 ? " " : "").append("REMOVE ").append(String.join(", ", remove));
+        }
+
+        UpdateItemRequest request = UpdateItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(Map.of("id", AttributeValue.fromS(id)))
+            .updateExpression(expression.toString())
+            .conditionExpression("attribute_exists(#id)")
+            .expressionAttributeNames(names)
+            .expressionAttributeValues(values.isEmpty() ? null : values)
+            .returnValues(ReturnValue.UPDATED_NEW)
+            .build();
+
+        try {
+            if (countStatuses && changes.containsKey("status")) {
+                return patchCounted(id, expression.toString(), names, values, changes.get("status"))
+                    ? Optional.of(patchedTask(id, changes))
+                    : Optional.empty();
+            }
 
+            UpdateItemResponse response = dynamoDbClient.updateItem(request);
+            Task updated = response.hasAttributes() && !response.attributes().isEmpty()
+                ? TaskSchema.INSTANCE.mapToItem(response.attributes())
+                : new Task();
+            updated.setId(id);
+            return Optional.of(updated);
+        } catch (ConditionalCheckFailedException e) {
+            return Optional.empty();
+        } finally {
+            // Only the changed attributes come back, so the cached copy cannot be patched in place.
+            forgetRead(id);
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Fetches exactly one page of tasks. A status filter becomes a Query on
+     * {@code status-index}; only an unfiltered listing falls back to a table scan.
+     * Both paths share the same cursor scheme: the page's {@code LastEvaluatedKey}
+     * is handed back as an opaque token and replayed as {@code ExclusiveStartKey}.
+     * A non-empty {@code fields} list limits the attributes DynamoDB returns.
+     */
+    public TaskPage findTasks(Optional<String> statusFilter, int pageSize, Optional<String> nextToken,
+            List<String> fields) {
+        Map<String, AttributeValue> exclusiveStartKey = nextToken.map(PageTokens::decode).orElse(null);
+
+        Page<Task> page;
         if (statusFilter.isPresent()) {
-            results = results.filter(task -> task.getStatus().equalsIgnoreCase(statusFilter.get()));
+            String status = statusFilter.get();
+            if (exclusiveStartKey != null && !status.equals(attributeString(exclusiveStartKey, "status"))) {
+                throw new IllegalArgumentException("nextToken does not belong to this status listing");
+            }
+
+            QueryEnhancedRequest.Builder request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(status).build()))
+                .limit(pageSize)
+                .exclusiveStartKey(exclusiveStartKey);
+            if (!fields.isEmpty()) {
+                request.attributesToProject(fields);
+            }
+            page = firstPage(statusIndex.query(request.build()));
+        } else {
+            if (exclusiveStartKey != null && exclusiveStartKey.containsKey("status")) {
+                throw new IllegalArgumentException("nextToken does not belong to an unfiltered listing");
+            }
+
+            ScanEnhancedRequest.Builder request = ScanEnhancedRequest.builder()
+                .limit(pageSize)
+                .exclusiveStartKey(exclusiveStartKey);
+            if (!fields.isEmpty()) {
+                request.attributesToProject(fields);
+            }
+            page = firstPage(taskTable.scan(request.build()));
+        }
+
+        return new TaskPage(page.items(), PageTokens.encode(page.lastEvaluatedKey()));
+    }
+
+    /**
+     * Counts the tasks per status with a parallel segmented scan that reads only the
+     * status attribute. Tasks without a status are not counted.
+     */
+    public Map<String, Long> countByStatus() {
+        try (Stream<List<Task>> pages = ParallelScan.pages(taskTable, scanSegments, scanExecutor,
+                () -> ScanEnhancedRequest.builder().attributesToProject("status"))) {
+            return pages.flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .map(Task::getStatus)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()));
+        }
+    }
+
+    /**
+     * Rewrites every stored status that {@code normalize} changes, for items written before
+     * statuses were normalised. Each rewrite is conditioned on the status read by the scan,
+     * so a concurrent write wins. Counters are not adjusted; reconcile them afterwards.
+     * Returns the number of tasks rewritten.
+     */
+    public long normalizeStatuses(UnaryOperator<String> normalize) {
+        try (Stream<List<Task>> pages = ParallelScan.pages(taskTable, scanSegments, scanExecutor,
+                () -> ScanEnhancedRequest.builder().attributesToProject("id", "status"))) {
+            return pages.flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .filter(task -> task.getStatus() != null)
+                .filter(task -> {
+                    String normalized = normalize.apply(task.getStatus());
+                    return normalized != null && !normalized.equals(task.getStatus())
+                        && rewriteStatus(task.getId(), task.getStatus(), normalized);
+                })
+                .count();
+        }
+    }
+
+    private boolean rewriteStatus(String id, String from, String to) {
+        try {
+            dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(key(id))
+                .updateExpression("SET #status = :to")
+                .conditionExpression("#status = :from")
+                .expressionAttributeNames(Map.of("#status", "status"))
+                .expressionAttributeValues(Map.of(":from", AttributeValue.fromS(from), ":to", AttributeValue.fromS(to)))
+                .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Streams every task in the table, one DynamoDB page at a time, using a parallel
+     * segmented scan. The stream must be closed once consumed.
+     */
+    public Stream<List<Task>> scanAllPages() {
+        return ParallelScan.pages(taskTable, scanSegments, scanExecutor, ScanEnhancedRequest::builder);
+    }
+
+    private Task loadTask(String id) {
+        return taskTable.getItem(Key.builder().partitionValue(id).build());
+    }
+
+    /**
+     * Changes a task's status-carrying fields together with the status counters. Returns
+     * {@code false} when the task does not exist.
+     */
+    private boolean patchCounted(String id, String updateExpression, Map<String, String> names,
+            Map<String, AttributeValue> values, String status) {
+        return countedWrite(id, stored -> {
+            if (!stored.exists()) {
+                return List.of();
+            }
+            // The stored-status condition replaces attribute_exists(#id).
+            Map<String, String> allNames = new HashMap<>(names);
+            allNames.remove("#id");
+            allNames.putAll(stored.names());
+            Map<String, AttributeValue> allValues = new HashMap<>(values);
+            allValues.putAll(stored.values());
+
+            Update update = Update.builder()
+                .tableName(TABLE_NAME)
+                .key(key(id))
+                .updateExpression(updateExpression)
+                .conditionExpression(stored.condition())
+                .expressionAttributeNames(allNames)
+                .expressionAttributeValues(nullIfEmpty(allValues))
+                .build();
+            return transaction(TransactWriteItem.builder().update(update).build(),
+                TaskStatsRepository.countChange(stored.status(), status));
+        });
+    }
+
+    /**
+     * Runs a task write and its counter changes in one transaction. The stored status is
+     * read first and the write is conditioned on it, so a concurrent change cancels the
+     * transaction and it is retried on a fresh read. Returns {@code false} when
+     * {@code writes} found nothing to write.
+     */
+    private boolean countedWrite(String id, Function<StoredStatus, List<TransactWriteItem>> writes) {
+        for (int attempt = 1; ; attempt++) {
+            List<TransactWriteItem> items = writes.apply(readStoredStatus(id));
+            if (items.isEmpty()) {
+                return false;
+            }
+            try {
+                dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder().transactItems(items).build());
+                return true;
+            } catch (TransactionCanceledException e) {
+                if (attempt >= countedWriteAttempts || !isConcurrentChange(e) || !Backoff.pause(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private StoredStatus readStoredStatus(String id) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(key(id))
+            .projectionExpression("#id, #status")
+            .expressionAttributeNames(Map.of("#id", "id", "#status", "status"))
+            .consistentRead(true)
+            .build());
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return StoredStatus.ABSENT;
         }
+        AttributeValue status = response.item().get("status");
+        return new StoredStatus(true, status == null ? null : status.s());
+    }
+
+    private static boolean isConcurrentChange(TransactionCanceledException e) {
+        return e.hasCancellationReasons() && e.cancellationReasons().stream()
+            .map(CancellationReason::code)
+            .anyMatch(code -> "ConditionalCheckFailed".equals(code) || "TransactionConflict".equals(code));
+    }
 
-        return results.collect(Collectors.toList());
+    private static TransactWriteItem put(Task task, StoredStatus stored) {
+        return TransactWriteItem.builder().put(Put.builder()
+            .tableName(TABLE_NAME)
+            .item(TaskSchema.INSTANCE.itemToMap(task, true))
+            .conditionExpression(stored.condition())
+            .expressionAttributeNames(stored.names())
+            .expressionAttributeValues(nullIfEmpty(stored.values()))
+            .build()).build();
     }
 
+    private static List<TransactWriteItem> transaction(TransactWriteItem write, List<TransactWriteItem> counters) {
+        List<TransactWriteItem> items = new ArrayList<>(counters.size() + 1);
+        items.add(write);
+        items.addAll(counters);
+        return items;
+    }
+
+    /** The id and the values set by a patch, like the UPDATED_NEW attributes of an UpdateItem. */
+    private static Task patchedTask(String id, Map<String, String> changes) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        changes.forEach((attribute, value) -> {
+            if (value != null) {
+                item.put(attribute, AttributeValue.fromS(value));
+            }
+        });
+        item.put("id", AttributeValue.fromS(id));
+        return TaskSchema.INSTANCE.mapToItem(item);
+    }
+
+    private static Map<String, AttributeValue> key(String id) {
+        return Map.of("id", AttributeValue.fromS(id));
+    }
+
+    private static Map<String, AttributeValue> nullIfEmpty(Map<String, AttributeValue> values) {
+        return values.isEmpty() ? null : values;
+    }
+
+    /** Whether a task existed and its status, as read ahead of a counted write. */
+    private record StoredStatus(boolean exists, String status) {
+
+        static final StoredStatus ABSENT = new StoredStatus(false, null);
+
+        /** Condition that the task is still as it was read. */
+        String condition() {
+            if (!exists) {
+                return "attribute_not_exists(#id)";
+            }
+            return status == null ? "attribute_exists(#id) AND attribute_not_exists(#status)" : "#status = :storedStatus";
+        }
+
+        Map<String, String> names() {
+            if (!exists) {
+                return Map.of("#id", "id");
+            }
+            return status == null ? Map.of("#id", "id", "#status", "status") : Map.of("#status", "status");
+        }
+
+        Map<String, AttributeValue> values() {
+            return status == null ? Map.of() : Map.of(":storedStatus", AttributeValue.fromS(status));
+        }
+    }
+
+    private void forgetRead(String id) {
+        if (reads != null) {
+            reads.forget(id);
+        }
+    }
+
+    private static Task project(Task task, List<String> fields) {
+        if (task == null) {
+            return null;
+        }
+        Map<String, AttributeValue> item = new HashMap<>(TaskSchema.INSTANCE.itemToMap(task, true));
+        item.keySet().retainAll(fields);
+        return TaskSchema.INSTANCE.mapToItem(item);
+    }
+
+    private static Page<Task> firstPage(SdkIterable<Page<Task>> pages) {
+        Iterator<Page<Task>> iterator = pages.iterator();
+        return iterator.hasNext() ? iterator.next() : Page.create(List.of());
+    }
+
+    private static String attributeString(Map<String, AttributeValue> key, String name) {
+        AttributeValue value = key.get(name);
+        return value == null ? null : value.s();
+    }
 
-	
 }
@@ -0,0 +1,205 @@
+package com.kishore.taskmanager.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Repository;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.model.TaskStatusChange;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Per-status task counters, one item per status in the {@value #TABLE_NAME} table.
+ * Reading them costs a scan of that small table, however many tasks there are.
+ * Counters are changed with atomic {@code ADD}s, either inside the transaction of a
+ * task write ({@link #countChange}), once per wave of a bulk operation, or per run of
+ * stream records ({@link #applyOnce}).
+ */
+@Repository
+public class TaskStatsRepository {
+
+    static final String TABLE_NAME = "TaskStats";
+
+    /** One item per applied stream record, expiring after the stream's 24 hour retention. */
+    static final String MARKER_TABLE = "TaskStatsMarkers";
+
+    /**
+     * Changes {@link #applyOnce} takes per call: a marker each plus at most two counters
+     * each stays within the 100 actions DynamoDB allows in one transaction.
+     */
+    public static final int MAX_CHANGES_PER_TRANSACTION = 30;
+
+    private static final Duration MARKER_TTL = Duration.ofHours(48);
+
+    private static final String STATUS = "status";
+    private static final String COUNT = "count";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final int writeAttempts;
+
+    public TaskStatsRepository(DynamoDbClient dynamoDbClient, DynamoProperties props) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.writeAttempts = props.getStats().getWriteAttempts();
+    }
+
+    public TaskStats getStats() {
+        return new TaskStats(readCounts());
+    }
+
+    /** Overwrites the counters with freshly counted values; statuses no longer present are removed. */
+    public void replaceCounts(Map<String, Long> counts) {
+        for (String status : readCounts().keySet()) {
+            if (!counts.containsKey(status)) {
+                dynamoDbClient.deleteItem(DeleteItemRequest.builder().tableName(TABLE_NAME).key(key(status)).build());
+            }
+        }
+        counts.forEach((status, count) -> dynamoDbClient.putItem(PutItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .item(Map.of(STATUS, AttributeValue.fromS(status), COUNT, AttributeValue.fromN(Long.toString(count))))
+            .build()));
+    }
+
+    /**
+     * Applies the counter changes of a run of stream records exactly once, however often
+     * the records are delivered. The summed {@code ADD}s share a transaction with one
+     * marker per record, conditioned on the marker not existing yet; records whose marker
+     * is already there were applied by an earlier delivery and are dropped before retrying.
+     */
+    public void applyOnce(List<TaskStatusChange> changes) {
+        if (changes.size() > MAX_CHANGES_PER_TRANSACTION) {
+            throw new IllegalArgumentException("At most " + MAX_CHANGES_PER_TRANSACTION + " changes per call");
+        }
+
+        List<TaskStatusChange> pending = changes;
+        int conflicts = 0;
+        while (!pending.isEmpty()) {
+            try {
+                dynamoDbClient.transactWriteItems(applyOnceTransaction(pending));
+                return;
+            } catch (TransactionCanceledException e) {
+                List<CancellationReason> reasons = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+
+                // Markers come first, so reason i belongs to change i.
+                List<TaskStatusChange> unapplied = new ArrayList<>();
+                for (int i = 0; i < pending.size(); i++) {
+                    if (i >= reasons.size() || !"ConditionalCheckFailed".equals(reasons.get(i).code())) {
+                        unapplied.add(pending.get(i));
+                    }
+                }
+                if (unapplied.size() < pending.size()) {
+                    pending = unapplied;
+                    continue;
+                }
+
+                boolean conflict = reasons.stream().anyMatch(reason -> "TransactionConflict".equals(reason.code()));
+                if (!conflict || ++conflicts >= writeAttempts || !Backoff.pause(conflicts)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static TransactWriteItemsRequest applyOnceTransaction(List<TaskStatusChange> changes) {
+        String expiresAt = Long.toString(Instant.now().plus(MARKER_TTL).getEpochSecond());
+        List<TransactWriteItem> items = new ArrayList<>();
+        Map<String, Long> deltas = new TreeMap<>();
+
+        for (TaskStatusChange change : changes) {
+            items.add(TransactWriteItem.builder().put(Put.builder()
+                .tableName(MARKER_TABLE)
+                .item(Map.of("eventId", AttributeValue.fromS(change.getEventId()),
+                    "expiresAt", AttributeValue.fromN(expiresAt)))
+                .conditionExpression("attribute_not_exists(eventId)")
+                .build()).build());
+            if (change.getOldStatus() != null) {
+                deltas.merge(change.getOldStatus(), -1L, Long::sum);
+            }
+            if (change.getNewStatus() != null) {
+                deltas.merge(change.getNewStatus(), 1L, Long::sum);
+            }
+        }
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                items.add(TransactWriteItem.builder().update(counterUpdate(status, delta)).build());
+            }
+        });
+        return TransactWriteItemsRequest.builder().transactItems(items).build();
+    }
+
+    /**
+     * Counter updates for one task moving from status {@code from} to {@code to}, to be
+     * added to the transaction that writes the task. Either may be {@code null} for a
+     * task that did not or will not exist, or has no status.
+     */
+    static List<TransactWriteItem> countChange(String from, String to) {
+        if (Objects.equals(from, to)) {
+            return List.of();
+        }
+        List<TransactWriteItem> updates = new ArrayList<>(2);
+        if (from != null) {
+            updates.add(TransactWriteItem.builder().update(counterUpdate(from, -1)).build());
+        }
+        if (to != null) {
+            updates.add(TransactWriteItem.builder().update(counterUpdate(to, 1)).build());
+        }
+        return updates;
+    }
+
+    /** Stand-alone update adding {@code delta} to one counter, for changes made outside a transaction. */
+    static UpdateItemRequest adjustment(String status, long delta) {
+        Update update = counterUpdate(status, delta);
+        return UpdateItemRequest.builder()
+            .tableName(update.tableName())
+            .key(update.key())
+            .updateExpression(update.updateExpression())
+            .expressionAttributeNames(update.expressionAttributeNames())
+            .expressionAttributeValues(update.expressionAttributeValues())
+            .build();
+    }
+
+    private static Update counterUpdate(String status, long delta) {
+        return Update.builder()
+            .tableName(TABLE_NAME)
+            .key(key(status))
+            .updateExpression("ADD #count :delta")
+            .expressionAttributeNames(Map.of("#count", COUNT))
+            .expressionAttributeValues(Map.of(":delta", AttributeValue.fromN(Long.toString(delta))))
+            .build();
+    }
+
+    private Map<String, Long> readCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        dynamoDbClient.scanPaginator(ScanRequest.builder().tableName(TABLE_NAME).consistentRead(true).build())
+            .items()
+            .forEach(item -> {
+                long count = Long.parseLong(item.get(COUNT).n());
+                if (count != 0) {
+                    counts.put(item.get(STATUS).s(), count);
+                }
+            });
+        return counts;
+    }
+
+    private static Map<String, AttributeValue> key(String status) {
+        return Map.of(STATUS, AttributeValue.fromS(status));
+    }
+}
@@ -0,0 +1,282 @@
+package com.kishore.taskmanager.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.exceptionhandling.BufferedWritePendingException;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskWriteResult;
+
+/**
+ * Opt-in write-behind for task puts. Buffered writes to the same id collapse into the
+ * latest one and are persisted with BatchWriteItem once {@code batch-size} distinct
+ * tasks are waiting or {@code flush-interval} has passed. When {@code capacity} tasks
+ * are waiting, callers block for up to {@code offer-timeout} and are then told to write
+ * synchronously instead.
+ *
+ * <p>{@link TaskRepository} reads buffered tasks first and settles an id's buffered
+ * write before any synchronous write to it, so a late flush never overwrites a newer
+ * value; while that write keeps failing, the synchronous write is refused. Listings,
+ * scans and batch lookups only see a task once it is flushed. Everything left is flushed
+ * on shutdown and, on Lambda, at the end of each request, before the execution
+ * environment can be frozen.
+ */
+@Component
+public class WriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private static final boolean ON_LAMBDA = System.getenv("AWS_LAMBDA_FUNCTION_NAME") != null;
+
+    private record Pending(Task task, int attempts) {
+    }
+
+    private final TaskAsyncRepository asyncRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final int maxAttempts;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private final Map<String, Pending> flushing = new HashMap<>();
+    /** Held for the whole of a flush, so flushes never overlap and {@link #settle} can wait one out. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder coalesced = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+
+    public WriteBehindBuffer(TaskAsyncRepository asyncRepository, DynamoProperties props) {
+        DynamoProperties.WriteBehind config = props.getWriteBehind();
+        this.asyncRepository = asyncRepository;
+        this.enabled = config.isEnabled();
+        this.capacity = config.getCapacity();
+        this.batchSize = config.getBatchSize();
+        this.offerTimeoutNanos = config.getOfferTimeout().toNanos();
+        this.maxAttempts = config.getMaxAttempts();
+
+        if (enabled) {
+            Duration interval = config.getFlushInterval();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /** A buffer that never buffers, for contexts that have no async client to flush with. */
+    public static WriteBehindBuffer disabled() {
+        return new WriteBehindBuffer(null, new DynamoProperties());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers the task, replacing any buffered write to the same id.
+     *
+     * @return {@code false} if write-behind is off or the buffer stayed full, in which
+     *         case the caller must write the task itself
+     */
+    public boolean offer(Task task) {
+        if (!enabled) {
+            return false;
+        }
+
+        Task copy = TaskCache.copy(task);
+        int size;
+        lock.lock();
+        try {
+            long nanos = offerTimeoutNanos;
+            while (!pending.containsKey(copy.getId()) && pending.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            if (pending.put(copy.getId(), new Pending(copy, 0)) != null) {
+                coalesced.increment();
+            }
+            size = pending.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+
+        if (size >= batchSize) {
+            scheduler.execute(this::flushQuietly);
+        }
+        return true;
+    }
+
+    /** Latest buffered or flushing version of the task, or {@code null} if there is none. */
+    public Task peek(String id) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Pending entry = pending.get(id);
+            if (entry == null) {
+                entry = flushing.get(id);
+            }
+            return entry == null ? null : TaskCache.copy(entry.task());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Persists any buffered write to the given ids before returning.
+     *
+     * @throws BufferedWritePendingException if a buffered write to one of them failed and is still
+     *         waiting for a retry, in which case the caller must not write the id itself:
+     *         the retry would later overwrite its write, or bring back a deleted task
+     */
+    public void settle(Collection<String> ids) {
+        if (!enabled || !anyBuffered(ids, true)) {
+            return;
+        }
+        flush();
+        if (anyBuffered(ids, false)) {
+            throw new BufferedWritePendingException(ids);
+        }
+    }
+
+    private boolean anyBuffered(Collection<String> ids, boolean includeFlushing) {
+        lock.lock();
+        try {
+            return ids.stream().anyMatch(id -> pending.containsKey(id) || (includeFlushing && flushing.containsKey(id)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes every buffered task and waits for the result. Tasks that fail are put back
+     * for a later flush, unless a newer write to them is already buffered or they have
+     * used up {@code max-attempts}.
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            List<Task> batch = new ArrayList<>();
+            lock.lock();
+            try {
+                flushing.putAll(pending);
+                pending.clear();
+                notFull.signalAll();
+                flushing.values().forEach(entry -> batch.add(entry.task()));
+            } finally {
+                lock.unlock();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<TaskWriteResult> results = write(batch);
+
+            lock.lock();
+            try {
+                for (TaskWriteResult result : results) {
+                    if (result.getStatus() == TaskWriteResult.Status.WRITTEN) {
+                        continue;
+                    }
+                    Pending failed = flushing.get(result.getId());
+                    if (failed.attempts() + 1 < maxAttempts) {
+                        pending.putIfAbsent(result.getId(), new Pending(failed.task(), failed.attempts() + 1));
+                    } else if (!pending.containsKey(result.getId())) {
+                        logger.error("Dropping buffered write of task {} after {} attempts: {}",
+                            result.getId(), maxAttempts, result.getError());
+                    }
+                }
+                flushing.clear();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Number of buffered writes that replaced an earlier buffered write to the same id. */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        // Lambda may freeze the environment as soon as the response is returned.
+        if (ON_LAMBDA && enabled) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            flush();
+        }
+    }
+
+    private List<TaskWriteResult> write(List<Task> batch) {
+        try {
+            return asyncRepository.saveTasks(batch).join();
+        } catch (RuntimeException e) {
+            logger.warn("Write-behind flush of {} tasks failed", batch.size(), e);
+            return batch.stream()
+                .map(task -> TaskWriteResult.failed(task.getId(), e.getMessage()))
+                .toList();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Write-behind flush failed", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.kishore.taskmanager.service;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.BulkOperationResult;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskWriteResult;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
+import com.kishore.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes or re-statuses every task with a given status. Keys are read from the
+ * status index one wave at a time and each wave is written in parallel; the run is
+ * paced to a maximum item rate and stops at its time budget with a token to resume from.
+ */
+@Service
+public class BulkTaskService {
+
+	/** Failed ids listed in a result; the count covers the rest. */
+	static final int MAX_FAILED_IDS = 100;
+
+	private static final List<String> KEYS_ONLY = List.of("id");
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkTaskService.class);
+
+	private final TaskRepository repository;
+	private final TaskAsyncRepository asyncRepository;
+	private final DynamoProperties.Bulk limits;
+
+	public BulkTaskService(TaskRepository repository, TaskAsyncRepository asyncRepository, DynamoProperties props) {
+		this.repository = repository;
+		this.asyncRepository = asyncRepository;
+		this.limits = props.getBulk();
+	}
+
+	/**
+	 * Deletes the tasks in {@code status}. {@code timeRemaining} is how long the caller
+	 * can still wait, e.g. the rest of the Lambda invocation.
+	 */
+	public BulkOperationResult deleteByStatus(String status, Optional<String> nextToken,
+			Optional<Duration> timeRemaining) {
+		String target = requireStatus(status, "status");
+		return run("delete " + target, target, nextToken, timeRemaining,
+				ids -> asyncRepository.deleteTasksInStatus(ids, target));
+	}
+
+	/**
+	 * Moves the tasks in status {@code from} to {@code to}. Tasks that changed status
+	 * after being listed are skipped rather than overwritten.
+	 */
+	public BulkOperationResult transitionStatus(String from, String to, Optional<String> nextToken,
+			Optional<Duration> timeRemaining) {
+		String source = requireStatus(from, "from");
+		String target = requireStatus(to, "to");
+		if (source.equals(target))
+			throw new IllegalArgumentException("from and to must be different statuses");
+
+		return run("transition " + source + " -> " + target, source, nextToken, timeRemaining,
+				ids -> asyncRepository.transitionTasks(ids, source, target));
+	}
+
+	private BulkOperationResult run(String operation, String status, Optional<String> nextToken,
+			Optional<Duration> timeRemaining, Function<List<String>, CompletableFuture<List<TaskWriteResult>>> wave) {
+		long started = System.nanoTime();
+		long deadline = started + budget(timeRemaining).toNanos();
+		long nanosPerItem = limits.getMaxItemsPerSecond() > 0
+				? TimeUnit.SECONDS.toNanos(1) / limits.getMaxItemsPerSecond()
+				: 0;
+
+		int succeeded = 0, skipped = 0, failed = 0;
+		List<String> failedIds = new ArrayList<>();
+		Optional<String> token = nextToken.filter(t -> !t.isBlank());
+		do {
+			TaskPage page = repository.findTasks(Optional.of(status), limits.getWaveSize(), token, KEYS_ONLY);
+			List<String> ids = page.getItems().stream().map(Task::getId).collect(Collectors.toList());
+
+			if (!ids.isEmpty()) {
+				// Buffered updates would otherwise land after, and undo, this wave's writes.
+				repository.settleBufferedWrites(ids);
+				for (TaskWriteResult result : wave.apply(ids).join()) {
+					switch (result.getStatus()) {
+					case WRITTEN -> succeeded++;
+					case SKIPPED -> skipped++;
+					case FAILED -> {
+						failed++;
+						if (failedIds.size() < MAX_FAILED_IDS)
+							failedIds.add(result.getId());
+					}
+					}
+				}
+			}
+			token = Optional.ofNullable(page.getNextToken());
+
+			long processed = succeeded + skipped + failed;
+			logger.info("Bulk {}: {} processed ({} failed) in {} ms", operation, processed, failed,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+			if (token.isPresent() && !pace(started + processed * nanosPerItem, deadline))
+				break;
+		} while (token.isPresent() && System.nanoTime() < deadline);
+
+		return new BulkOperationResult(succeeded, skipped, failed, failedIds, token.orElse(null));
+	}
+
+	private Duration budget(Optional<Duration> timeRemaining) {
+		Duration budget = limits.getTimeBudget();
+		if (timeRemaining.isPresent()) {
+			Duration usable = timeRemaining.get().minus(limits.getSafetyMargin());
+			if (usable.compareTo(budget) < 0)
+				budget = usable;
+		}
+		return budget;
+	}
+
+	/** Waits until {@code notBefore}, but not past the deadline. Returns false if interrupted. */
+	private static boolean pace(long notBefore, long deadline) {
+		long wait = Math.min(notBefore, deadline) - System.nanoTime();
+		if (wait <= 0)
+			return true;
+
+		try {
+			TimeUnit.NANOSECONDS.sleep(wait);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static String requireStatus(String status, String name) {
+		String normalized = TaskService.normalizeStatus(status);
+		if (normalized == null)
+			throw new IllegalArgumentException(name + " cannot be null or empty");
+		return normalized;
+	}
+}
@@ -0,0 +1,90 @@
+package com.kishore.taskmanager.service;
+
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyInProgressException;
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyMismatchException;
+import com.kishore.taskmanager.model.IdempotencyRecord;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.repository.IdempotencyRepository;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Task creates made safe to retry with an {@code Idempotency-Key}. The first request
+ * with a key creates the task; retries with the same key get that task back without
+ * writing it again, for as long as the key is remembered.
+ */
+@Service
+public class IdempotentTaskService {
+
+	static final int MAX_KEY_LENGTH = 255;
+
+	private final TaskService service;
+	private final IdempotencyRepository repository;
+
+	public IdempotentTaskService(TaskService service, IdempotencyRepository repository) {
+		this.service = service;
+		this.repository = repository;
+	}
+
+	/**
+	 * Creates the task, or returns the task created by the first request with
+	 * {@code key}. The key is claimed before the task is written; a retry that arrives
+	 * while the first request is still writing is refused with
+	 * {@link IdempotencyKeyInProgressException} rather than told about a task that may
+	 * never be written. The task is written in the same transaction that completes the
+	 * key, so a completed create is always remembered.
+	 */
+	public Task create(Task task, String key) {
+		if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH)
+			throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+
+		String requestHash = requestHash(task);
+		Task prepared = service.prepareNew(task);
+		IdempotencyRecord record = new IdempotencyRecord(requestHash, prepared);
+
+		Optional<IdempotencyRecord> first = repository.claim(key, record);
+		if (first.isPresent()) {
+			if (!first.get().matches(requestHash))
+				throw new IdempotencyKeyMismatchException(key);
+			if (!first.get().isCompleted())
+				throw new IdempotencyKeyInProgressException(key);
+			return first.get().getTask();
+		}
+
+		try {
+			repository.createCompleted(key, record);
+		} catch (RuntimeException e) {
+			repository.release(key, record);
+			throw e;
+		}
+		return prepared;
+	}
+
+	/** Hash of the fields a client sends, taken before the service fills in the id. */
+	static String requestHash(Task task) {
+		if (task == null)
+			throw new IllegalArgumentException("Task cannot be null");
+
+		MessageDigest digest = sha256();
+		for (String field : new String[] { task.getTitle(), task.getDescription(), task.getStatus() }) {
+			if (field != null)
+				digest.update(field.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) (field == null ? 0 : 1));
+			digest.update((byte) 0x1f);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
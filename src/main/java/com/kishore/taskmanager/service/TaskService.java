@@ -1,37 +1,75 @@
 package com.kishore.taskmanager.service;
 
 import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskLookupResult;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskSchema;
+import com.kishore.taskmanager.model.TaskWriteResult;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
 import com.kishore.taskmanager.repository.TaskRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+	static final int DEFAULT_PAGE_SIZE = 50;
+	static final int MAX_PAGE_SIZE = 500;
+	static final int MAX_BATCH_SIZE = 500;
+	static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "status");
+
 	private final TaskRepository repository;
+	private final TaskAsyncRepository asyncRepository;
 
-	public TaskService(TaskRepository repository) {
+	public TaskService(TaskRepository repository, TaskAsyncRepository asyncRepository) {
 		this.repository = repository;
+		this.asyncRepository = asyncRepository;
 	}
 
 	public Task create(Task task) {
+		Task prepared = prepareNew(task);
+		repository.createTask(prepared);
+		return prepared;
+	}
+
+	/** Gives a task to be created its id and normalised status, without writing it. */
+	Task prepareNew(Task task) {
 		if (task == null)
 			throw new IllegalArgumentException("Task cannot be null");
 
 		task.setId(UUID.randomUUID().toString());
-		repository.saveTask(task);
+		task.setStatus(normalizeStatus(task.getStatus()));
 		return task;
 	}
 
 	public Task read(String id) {
+		return read(id, Optional.empty());
+	}
+
+	/**
+	 * Reads a task, limited to the comma-separated {@code fields} when given. The id is
+	 * always included.
+	 */
+	public Task read(String id, Optional<String> fields) {
 		if (id == null || id.isBlank())
 			throw new IllegalArgumentException("ID cannot be null or empty");
 		
-		Task task = repository.getTask(id);
+		List<String> projection = parseFields(fields);
+		Task task = projection.isEmpty() ? repository.getTask(id) : repository.getTask(id, projection);
 		
 		if(task==null)
 			throw new NoSuchElementException("Task not found");
@@ -39,12 +77,114 @@ public class TaskService {
 		return task;
 	}
 
+	/**
+	 * Looks up several tasks at once. Repeated ids are read once; the result has one
+	 * entry per distinct id, in the order the ids were first requested.
+	 */
+	public CompletableFuture<List<TaskLookupResult>> findByIds(List<String> ids) {
+		if (ids == null || ids.isEmpty())
+			throw new IllegalArgumentException("IDs cannot be empty");
+
+		Set<String> unique = new LinkedHashSet<>();
+		for (String id : ids) {
+			if (id == null || id.isBlank())
+				throw new IllegalArgumentException("ID cannot be null or empty");
+			unique.add(id);
+		}
+		if (unique.size() > MAX_BATCH_SIZE)
+			throw new IllegalArgumentException("Cannot look up more than " + MAX_BATCH_SIZE + " tasks at once");
+
+		return asyncRepository.getTasks(new ArrayList<>(unique))
+				.thenApply(results -> unique.stream()
+						.map(id -> results.getOrDefault(id, TaskLookupResult.notFound(id)))
+						.collect(Collectors.toList()));
+	}
+
 	public Task update(String id, Task task) {
 		task.setId(id);
+		task.setStatus(normalizeStatus(task.getStatus()));
 		repository.saveTask(task);
 		return task;
 	}
 
+	/**
+	 * Like {@link #update}, but lets the write be buffered and persisted shortly after.
+	 * Returns {@code false} if it was written synchronously instead, because write-behind
+	 * is off or its buffer stayed full.
+	 */
+	public boolean updateLater(String id, Task task) {
+		task.setId(id);
+		task.setStatus(normalizeStatus(task.getStatus()));
+		if (repository.saveTaskLater(task))
+			return true;
+
+		repository.saveTask(task);
+		return false;
+	}
+
+	/**
+	 * Changes only the fields present in {@code changes}, without reading the task first.
+	 * A field set to {@code null} is removed. Returns the id and the values that were set.
+	 */
+	public Task patch(String id, Map<String, Object> changes) {
+		if (id == null || id.isBlank())
+			throw new IllegalArgumentException("ID cannot be null or empty");
+		if (changes == null || changes.isEmpty())
+			throw new IllegalArgumentException("No fields to update");
+
+		Map<String, String> attributes = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> change : changes.entrySet()) {
+			String field = change.getKey();
+			Object value = change.getValue();
+
+			if ("id".equals(field)) {
+				if (!id.equals(value))
+					throw new IllegalArgumentException("Task id cannot be changed");
+				continue;
+			}
+			if (!PATCHABLE_FIELDS.contains(field))
+				throw new IllegalArgumentException("Unknown field: " + field);
+			if (value != null && !(value instanceof String))
+				throw new IllegalArgumentException("Field " + field + " must be a string or null");
+
+			attributes.put(field, "status".equals(field) ? normalizeStatus((String) value) : (String) value);
+		}
+		if (attributes.isEmpty())
+			throw new IllegalArgumentException("No fields to update");
+
+		return repository.patchTask(id, attributes)
+				.orElseThrow(() -> new NoSuchElementException("Task not found"));
+	}
+
+	/**
+	 * Creates or replaces a batch of tasks. Tasks without an id are created with a
+	 * fresh one; tasks with an id overwrite the stored item, like {@link #update}.
+	 * While status counters are maintained transactionally each task is written on its
+	 * own, with its counter change, instead of with BatchWriteItem.
+	 */
+	public CompletableFuture<List<TaskWriteResult>> saveAll(List<Task> tasks) {
+		if (tasks == null || tasks.isEmpty())
+			throw new IllegalArgumentException("Tasks cannot be empty");
+		if (tasks.size() > MAX_BATCH_SIZE)
+			throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " tasks");
+
+		Set<String> ids = new HashSet<>();
+		for (Task task : tasks) {
+			if (task == null)
+				throw new IllegalArgumentException("Task cannot be null");
+
+			if (task.getId() == null || task.getId().isBlank())
+				task.setId(UUID.randomUUID().toString());
+			else if (!ids.add(task.getId()))
+				throw new IllegalArgumentException("Duplicate task id in batch: " + task.getId());
+
+			task.setStatus(normalizeStatus(task.getStatus()));
+		}
+
+		repository.settleBufferedWrites(ids);
+		return repository.countsStatuses() ? repository.saveTasksCounted(tasks) : asyncRepository.saveTasks(tasks);
+	}
+
 	public void delete(String id) {
 		if (id == null || id.isBlank())
 			throw new IllegalArgumentException("ID cannot be null or empty");
@@ -52,8 +192,67 @@ public class TaskService {
 		repository.deleteTask(id);
 	}
 
-	public List<Task> findAll(Optional<String> status, Optional<Integer> limit) {
-		return repository.getAllTasks(status, limit);
+	public TaskPage findAll(Optional<String> status, Optional<Integer> pageSize, Optional<String> nextToken,
+			Optional<String> fields) {
+		int size = pageSize.orElse(DEFAULT_PAGE_SIZE);
+		if (size <= 0 || size > MAX_PAGE_SIZE)
+			throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+
+		return repository.findTasks(status.map(TaskService::normalizeStatus), size,
+				nextToken.filter(token -> !token.isBlank()), parseFields(fields));
+	}
+
+	/**
+	 * Streams every task using a parallel segmented scan. Memory stays bounded to a
+	 * few pages; the caller must close the stream.
+	 */
+	public Stream<Task> streamAll() {
+		return streamAllPages().flatMap(List::stream);
+	}
+
+	/** Same as {@link #streamAll()}, keeping DynamoDB's page boundaries. */
+	public Stream<List<Task>> streamAllPages() {
+		return repository.scanAllPages();
+	}
+
+	/**
+	 * Turns a {@code fields} parameter such as {@code "title,status"} into the attributes
+	 * to project, always including the id. Absent or blank means every field.
+	 */
+	static List<String> parseFields(Optional<String> fields) {
+		if (fields.isEmpty() || fields.get().isBlank())
+			return List.of();
+
+		Set<String> projection = new LinkedHashSet<>();
+		projection.add("id");
+		for (String field : fields.get().split(",")) {
+			String name = field.trim();
+			if (name.isEmpty())
+				continue;
+			if (!TaskSchema.INSTANCE.attributeNames().contains(name))
+				throw new IllegalArgumentException("Unknown field: " + name);
+			projection.add(name);
+		}
+		return List.copyOf(projection);
+	}
+
+	/**
+	 * Upper-cases statuses stored before they were normalised, so {@code ?status=} queries
+	 * find those tasks again. Returns the number of tasks rewritten.
+	 */
+	public long normalizeStoredStatuses() {
+		return repository.normalizeStatuses(TaskService::normalizeStatus);
+	}
+
+	/**
+	 * Statuses are stored upper-cased so that a status-index query matches
+	 * regardless of how the client spelled the value.
+	 */
+	static String normalizeStatus(String status) {
+		if (status == null || status.isBlank())
+			return null;
+
+		return status.trim().toUpperCase(Locale.ROOT);
 	}
 
 }
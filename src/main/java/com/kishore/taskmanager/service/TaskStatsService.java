@@ -0,0 +1,60 @@
+package com.kishore.taskmanager.service;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.repository.TaskRepository;
+import com.kishore.taskmanager.repository.TaskStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Task counts per status, read from counters kept up to date as tasks are written
+ * rather than by scanning the table.
+ */
+@Service
+public class TaskStatsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskStatsService.class);
+
+	private final TaskRepository repository;
+	private final TaskStatsRepository statsRepository;
+	private final boolean maintained;
+
+	public TaskStatsService(TaskRepository repository, TaskStatsRepository statsRepository, DynamoProperties props) {
+		this.repository = repository;
+		this.statsRepository = statsRepository;
+		this.maintained = props.getStats().getMaintenance() != DynamoProperties.Stats.Maintenance.NONE;
+	}
+
+	public TaskStats getStats() {
+		requireMaintained();
+		return statsRepository.getStats();
+	}
+
+	/**
+	 * Recounts every task with a parallel scan and overwrites the counters. Writes made
+	 * while the scan runs may be counted twice or not at all, so run it when the table is
+	 * quiet, or again afterwards.
+	 */
+	public TaskStats reconcile() {
+		requireMaintained();
+
+		TaskStats before = statsRepository.getStats();
+		Map<String, Long> counts = repository.countByStatus();
+		statsRepository.replaceCounts(counts);
+
+		TaskStats after = new TaskStats(counts);
+		if (!before.getCounts().equals(after.getCounts()))
+			logger.warn("Reconciled status counters from {} to {}", before.getCounts(), after.getCounts());
+		return after;
+	}
+
+	private void requireMaintained() {
+		if (!maintained)
+			throw new NoSuchElementException("Task counters are not maintained");
+	}
+}
@@ -0,0 +1,56 @@
+package com.kishore.taskmanager.service;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.TaskStatusChange;
+import com.kishore.taskmanager.repository.TaskStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the status counters in step with the {@code Tasks} table stream when
+ * {@code aws.dynamodb.stats.maintenance} is {@code stream}. Changes are applied in
+ * order, in runs of {@value TaskStatsRepository#MAX_CHANGES_PER_TRANSACTION}, and each
+ * run is applied exactly once, so redelivered records are harmless.
+ */
+@Service
+public class TaskStreamService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskStreamService.class);
+
+	private final TaskStatsRepository statsRepository;
+	private final boolean enabled;
+
+	public TaskStreamService(TaskStatsRepository statsRepository, DynamoProperties props) {
+		this.statsRepository = statsRepository;
+		this.enabled = props.getStats().getMaintenance() == DynamoProperties.Stats.Maintenance.STREAM;
+	}
+
+	/**
+	 * Returns the sequence number of the first change that could not be applied, for the
+	 * stream to retry from; changes before it are done. Empty when everything was applied.
+	 */
+	public Optional<String> apply(List<TaskStatusChange> changes) {
+		if (!enabled) {
+			if (!changes.isEmpty())
+				logger.warn("Ignoring {} status changes: stats maintenance is not set to stream", changes.size());
+			return Optional.empty();
+		}
+
+		for (int from = 0; from < changes.size(); from += TaskStatsRepository.MAX_CHANGES_PER_TRANSACTION) {
+			List<TaskStatusChange> run = changes.subList(from,
+					Math.min(from + TaskStatsRepository.MAX_CHANGES_PER_TRANSACTION, changes.size()));
+			try {
+				statsRepository.applyOnce(run);
+			} catch (RuntimeException e) {
+				logger.warn("Could not apply {} status changes from sequence number {}", run.size(),
+						run.get(0).getSequenceNumber(), e);
+				return Optional.of(run.get(0).getSequenceNumber());
+			}
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,29 @@
+package com.kishore.taskmanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.serialization.events.LambdaEventSerializers;
+
+/**
+ * Loads captured DynamoDB Streams events from test resources, deserialised the same way
+ * the Lambda runtime does, so they can be replayed through {@link TaskStreamHandler}.
+ */
+final class StreamEvents {
+
+	private StreamEvents() {
+	}
+
+	static DynamodbEvent load(String resource) {
+		try (InputStream json = StreamEvents.class.getResourceAsStream(resource)) {
+			if (json == null)
+				throw new IllegalArgumentException("No such resource: " + resource);
+			return LambdaEventSerializers.serializerFor(DynamodbEvent.class, StreamEvents.class.getClassLoader())
+					.fromJson(json);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
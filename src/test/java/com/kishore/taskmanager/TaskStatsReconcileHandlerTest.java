@@ -0,0 +1,25 @@
+package com.kishore.taskmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.service.TaskStatsService;
+
+class TaskStatsReconcileHandlerTest {
+
+	@Test
+	void shouldReconcileOnSchedule() {
+		TaskStatsService service = mock(TaskStatsService.class);
+		TaskStats reconciled = new TaskStats(Map.of("PENDING", 3L));
+		when(service.reconcile()).thenReturn(reconciled);
+
+		assertEquals(reconciled, new TaskStatsReconcileHandler(service).handleRequest(new ScheduledEvent(), null));
+	}
+}
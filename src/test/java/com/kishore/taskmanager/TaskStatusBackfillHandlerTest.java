@@ -0,0 +1,22 @@
+package com.kishore.taskmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.kishore.taskmanager.service.TaskService;
+
+class TaskStatusBackfillHandlerTest {
+
+	@Test
+	void shouldReturnNumberOfRewrittenTasks() {
+		TaskService service = mock(TaskService.class);
+		when(service.normalizeStoredStatuses()).thenReturn(7L);
+
+		assertEquals(7L, new TaskStatusBackfillHandler(service).handleRequest(Map.of(), null));
+	}
+}
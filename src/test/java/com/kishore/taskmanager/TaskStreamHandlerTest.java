@@ -0,0 +1,114 @@
+package com.kishore.taskmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.repository.TaskStatsRepository;
+import com.kishore.taskmanager.service.TaskStreamService;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+/**
+ * Replays captured stream events through the handler against a mocked DynamoDB client.
+ */
+class TaskStreamHandlerTest {
+
+	private static final String CAPTURED = "/streams/task-changes.json";
+
+	private DynamoDbClient client;
+	private TaskStreamHandler handler;
+
+	@BeforeEach
+	void setup() {
+		DynamoProperties props = new DynamoProperties();
+		props.getStats().setMaintenance(DynamoProperties.Stats.Maintenance.STREAM);
+
+		client = mock(DynamoDbClient.class);
+		handler = new TaskStreamHandler(new TaskStreamService(new TaskStatsRepository(client, props), props));
+	}
+
+	@Test
+	void shouldApplyNetStatusChangesWithOneMarkerPerRecord() {
+		StreamsEventResponse response = handler.handleRequest(StreamEvents.load(CAPTURED), null);
+
+		assertTrue(response.getBatchItemFailures().isEmpty());
+		List<TransactWriteItem> items = transactions(1).get(0).transactItems();
+
+		// Two inserts, a status change and a delete; the title-only MODIFY is not a status change.
+		List<TransactWriteItem> markers = items.stream().filter(item -> item.put() != null).collect(Collectors.toList());
+		assertEquals(4, markers.size());
+		assertEquals("c4ca4238a0b923820dcc509a6f75849b", markers.get(0).put().item().get("eventId").s());
+
+		// PENDING nets out to zero, so only DONE is touched.
+		List<TransactWriteItem> counters = items.stream().filter(item -> item.update() != null).collect(Collectors.toList());
+		assertEquals(1, counters.size());
+		assertEquals("DONE", counters.get(0).update().key().get("status").s());
+		assertEquals("1", counters.get(0).update().expressionAttributeValues().get(":delta").n());
+	}
+
+	@Test
+	void shouldSkipRecordsAppliedByAnEarlierDelivery() {
+		// The first two records were applied before the batch was redelivered.
+		when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+				.thenThrow(canceled("ConditionalCheckFailed", "ConditionalCheckFailed", "None", "None", "None"))
+				.thenReturn(null);
+
+		StreamsEventResponse response = handler.handleRequest(StreamEvents.load(CAPTURED), null);
+
+		assertTrue(response.getBatchItemFailures().isEmpty());
+		List<TransactWriteItem> retried = transactions(2).get(1).transactItems();
+		assertEquals(2, retried.stream().filter(item -> item.put() != null).count());
+		// Left: PENDING -> DONE for a1 and the delete of a2 while PENDING.
+		assertEquals(List.of("DONE:1", "PENDING:-2"), retried.stream()
+				.filter(item -> item.update() != null)
+				.map(item -> item.update().key().get("status").s() + ":"
+						+ item.update().expressionAttributeValues().get(":delta").n())
+				.collect(Collectors.toList()));
+	}
+
+	@Test
+	void shouldReportFirstUnappliedRecordAsBatchItemFailure() {
+		when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+				.thenThrow(DynamoDbException.builder().message("Service unavailable").statusCode(503).build());
+
+		DynamodbEvent event = StreamEvents.load(CAPTURED);
+		StreamsEventResponse response = handler.handleRequest(event, null);
+
+		assertEquals(1, response.getBatchItemFailures().size());
+		assertEquals(event.getRecords().get(0).getDynamodb().getSequenceNumber(),
+				response.getBatchItemFailures().get(0).getItemIdentifier());
+	}
+
+	private List<TransactWriteItemsRequest> transactions(int expected) {
+		ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+		verify(client, times(expected)).transactWriteItems(captor.capture());
+		return captor.getAllValues();
+	}
+
+	private static TransactionCanceledException canceled(String... codes) {
+		List<CancellationReason> reasons = List.of(codes).stream()
+				.map(code -> CancellationReason.builder().code(code).build())
+				.collect(Collectors.toList());
+		return TransactionCanceledException.builder().cancellationReasons(reasons).build();
+	}
+}
@@ -6,6 +6,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
@@ -18,6 +19,7 @@ public class TestAwsConfig {
     @Bean
     public DynamoDbClient dynamoDbClient() {
         return DynamoDbClient.builder()
+            .httpClientBuilder(ApacheHttpClient.builder())
             .endpointOverride(URI.create("http://localhost:4566")) // LocalStack default
             .region(Region.US_EAST_1)
             .credentialsProvider(StaticCredentialsProvider.create(
@@ -0,0 +1,234 @@
+package com.kishore.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kishore.taskmanager.config.DynamoDbRateGovernor.BucketKey;
+import com.kishore.taskmanager.config.DynamoDbRateGovernor.Budget;
+import com.kishore.taskmanager.exceptionhandling.RateLimitExceededException;
+import com.kishore.taskmanager.lambda.DynamoDbStubServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+class DynamoDbRateGovernorTest {
+
+    private static final BucketKey TASK_WRITES = new BucketKey("Tasks", null, Budget.WRITE);
+
+    private final AtomicLong clock = new AtomicLong();
+    private DynamoProperties props;
+    private SimpleMeterRegistry registry;
+    private DynamoDbStubServer stub;
+    private DynamoDbClient client;
+    private DynamoDbRateGovernor governor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        props = new DynamoProperties();
+        props.getRateLimit().setEnabled(true);
+        // The SDK's adaptive mode paces sends on the wall clock; keep it out of these timings.
+        props.getRetry().setMode(DynamoProperties.Retry.Mode.STANDARD);
+        props.getRetry().setMaxRetries(2);
+        props.getRetry().setBaseDelay(Duration.ofMillis(1));
+        props.getRetry().setThrottleBaseDelay(Duration.ofMillis(1));
+        props.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        props.getHttp().setClient(DynamoProperties.Http.ClientType.URL_CONNECTION);
+
+        registry = new SimpleMeterRegistry();
+        governor = new DynamoDbRateGovernor(registry, props, clock::get);
+        stub = DynamoDbStubServer.start();
+        client = DynamoDbClient.builder()
+            .httpClientBuilder(AwsConfig.httpClientBuilder(props.getHttp()))
+            .endpointOverride(stub.endpoint())
+            .region(Region.US_EAST_1)
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .retryPolicy(governor.retryPolicy())
+                .addExecutionInterceptor(governor)
+                .build())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        stub.close();
+    }
+
+    @Test
+    void shouldHalveRateOnceWhenThrottledAndStillSucceed() {
+        stub.failNext(2, DynamoDbStubServer.Fault.PROVISIONED_THROUGHPUT_EXCEEDED);
+
+        client.putItem(put());
+
+        assertEquals(3, stub.requests());
+        assertEquals(2, throttledAttempts());
+        // Both throttles fall within one cooldown, so the rate is cut once.
+        assertEquals(100, governor.rate(TASK_WRITES), 0.001);
+        assertEquals(1, registry.get("dynamodb.ratelimit.decreases").counter().count());
+    }
+
+    @Test
+    void shouldCountEveryAttemptWhenRetriesRunOut() {
+        stub.failNext(10, DynamoDbStubServer.Fault.PROVISIONED_THROUGHPUT_EXCEEDED);
+
+        assertThrows(ProvisionedThroughputExceededException.class, () -> client.putItem(put()));
+
+        assertEquals(3, stub.requests());
+        assertEquals(3, throttledAttempts());
+    }
+
+    @Test
+    void shouldRecoverRateAdditivelyAfterCooldown() {
+        stub.failNext(1, DynamoDbStubServer.Fault.THROTTLING);
+        client.putItem(put());
+        assertEquals(100, governor.rate(TASK_WRITES), 0.001);
+
+        for (int second = 0; second < 5; second++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            client.putItem(put());
+        }
+
+        assertEquals(150, governor.rate(TASK_WRITES), 0.001);
+    }
+
+    @Test
+    void shouldKeepReadAndWriteBudgetsApart() {
+        stub.failNext(1, DynamoDbStubServer.Fault.PROVISIONED_THROUGHPUT_EXCEEDED);
+        client.putItem(put());
+
+        client.query(QueryRequest.builder().tableName("Tasks").indexName("status-index").build());
+
+        assertEquals(100, governor.rate(TASK_WRITES), 0.001);
+        assertEquals(500, governor.rate(new BucketKey("Tasks", "status-index", Budget.READ)), 0.001);
+    }
+
+    @Test
+    void shouldWaitForTokensOnceTheBucketIsEmpty() {
+        DynamoProperties.RateLimit config = props.getRateLimit();
+        config.getWrites().setInitialRate(10);
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(config, config.getWrites(), clock::get);
+
+        assertEquals(0, bucket.reserve(10));
+        // Five more permits at ten per second: half a second.
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.reserve(5));
+        // Ten more would wait past max-wait: refused, and nothing is taken.
+        assertEquals(AdaptiveTokenBucket.REFUSED, bucket.reserve(10));
+        assertEquals(config.getMaxWait().toNanos(), bucket.reserve(5));
+        assertEquals(AdaptiveTokenBucket.REFUSED, bucket.reserve(1));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertEquals(0, bucket.reserve(1));
+    }
+
+    @Test
+    void shouldGrantOversizedRequestOnlyOutOfDebt() {
+        DynamoProperties.RateLimit config = props.getRateLimit();
+        config.getWrites().setInitialRate(10);
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(config, config.getWrites(), clock::get);
+
+        assertEquals(config.getMaxWait().toNanos(), bucket.reserve(25));
+        // Its debt still holds back the next caller until it is paid off.
+        assertEquals(AdaptiveTokenBucket.REFUSED, bucket.reserve(1));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.reserve(5));
+    }
+
+    @Test
+    void shouldRefuseSyncCallThatWouldWaitTooLong() {
+        props.getRateLimit().getWrites().setInitialRate(10);
+        // Empties the bucket and runs up max-wait's worth of debt.
+        governor.pace("Tasks", Budget.WRITE, 20);
+
+        assertThrows(RateLimitExceededException.class, () -> client.putItem(put()));
+        assertEquals(0, stub.requests());
+        assertEquals(1, registry.get("dynamodb.ratelimit.refused").counter().count());
+    }
+
+    @Test
+    void shouldPaceAsyncCallsOnATimerWithoutBlocking() throws Exception {
+        props.getRateLimit().getWrites().setInitialRate(10);
+
+        assertTrue(governor.pace("Tasks", Budget.WRITE, 10).isDone());
+        CompletableFuture<Void> paced = governor.pace("Tasks", Budget.WRITE, 2);
+        assertFalse(paced.isDone());
+        paced.get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Void> refused = governor.pace("Tasks", Budget.WRITE, 20);
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> refused.get(5, TimeUnit.SECONDS));
+        assertTrue(thrown.getCause() instanceof RateLimitExceededException);
+    }
+
+    @Test
+    void shouldNotPaceAsyncClientInTheInterceptor() throws Exception {
+        props.getRateLimit().getWrites().setInitialRate(10);
+        governor.pace("Tasks", Budget.WRITE, 20);
+
+        try (DynamoDbAsyncClient async = DynamoDbAsyncClient.builder()
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder())
+            .endpointOverride(stub.endpoint())
+            .region(Region.US_EAST_1)
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .retryPolicy(governor.retryPolicy())
+                .addExecutionInterceptor(governor)
+                .build())
+            .build()) {
+            // The bucket is deep in debt, yet the call is neither delayed nor refused here.
+            async.putItem(put()).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, stub.requests());
+    }
+
+    @Test
+    void shouldChargeBatchesPerItem() {
+        WriteRequest write = WriteRequest.builder()
+            .putRequest(PutRequest.builder().item(Map.of("id", AttributeValue.fromS("1"))).build())
+            .build();
+        BatchWriteItemRequest batch = BatchWriteItemRequest.builder()
+            .requestItems(Map.of("Tasks", List.of(write, write, write)))
+            .build();
+
+        assertEquals(Map.of(TASK_WRITES, 3), DynamoDbRateGovernor.demand(batch));
+        assertTrue(DynamoDbRateGovernor.demand(DescribeTableRequest.builder().tableName("Tasks").build()).isEmpty());
+    }
+
+    private double throttledAttempts() {
+        return registry.get("dynamodb.throttled.attempts").tag("table", "Tasks").counter().count();
+    }
+
+    private static PutItemRequest put() {
+        return PutItemRequest.builder()
+            .tableName("Tasks")
+            .item(Map.of("id", AttributeValue.fromS("1")))
+            .build();
+    }
+}
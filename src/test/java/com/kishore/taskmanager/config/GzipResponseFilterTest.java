@@ -0,0 +1,174 @@
+package com.kishore.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class GzipResponseFilterTest {
+
+    private final GzipResponseFilter filter = new GzipResponseFilter(new CompressionProperties());
+
+    @Test
+    void compressesLargeJsonBodies() throws Exception {
+        byte[] body = json(4096);
+        MockHttpServletResponse response = run("/tasks", "gzip, deflate", body);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals("\"abc-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getContentAsByteArray().length < body.length);
+        assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void leavesSmallBodiesUncompressed() throws Exception {
+        byte[] body = json(100);
+        MockHttpServletResponse response = run("/tasks/1", "gzip", body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void leavesBodiesUncompressedWithoutAcceptEncoding() throws Exception {
+        byte[] body = json(4096);
+        MockHttpServletResponse response = run("/tasks", null, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void revalidatesEitherETagForm() throws Exception {
+        MockHttpServletResponse gzipped = run(request("/tasks", "gzip", "\"abc-gzip\""), json(4096));
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, gzipped.getStatus());
+        assertEquals("\"abc-gzip\"", gzipped.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipped.getHeader(HttpHeaders.VARY));
+
+        MockHttpServletResponse identity = run(request("/tasks", "gzip", "\"abc\""), json(4096));
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, identity.getStatus());
+        assertEquals("\"abc\"", identity.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void skipsExcludedPaths() throws Exception {
+        byte[] body = json(4096);
+        MockHttpServletResponse response = run("/tasks/export", "gzip", body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void matchesExcludedPathsWithinTheApplication() throws Exception {
+        CompressionProperties props = new CompressionProperties();
+        props.setExcludedPaths(List.of("/tasks/export", "/reports/**"));
+        GzipResponseFilter patterns = new GzipResponseFilter(props);
+
+        MockHttpServletRequest export = request("/api/tasks/export", "gzip", null);
+        export.setContextPath("/api");
+        MockHttpServletRequest report = request("/reports/2024/summary", "gzip", null);
+        MockHttpServletRequest task = request("/tasks/exports", "gzip", null);
+
+        assertNull(run(patterns, export, json(4096)).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(run(patterns, report, json(4096)).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", run(patterns, task, json(4096)).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void suffixesETags() {
+        assertEquals("\"abc-gzip\"", GzipResponseFilter.gzipETag("\"abc\""));
+        assertEquals("W/\"abc-gzip\"", GzipResponseFilter.gzipETag("W/\"abc\""));
+        assertEquals("\"abc-gzip\"", GzipResponseFilter.gzipETag("\"abc-gzip\""));
+        assertEquals("\"abc\", W/\"def\"", GzipResponseFilter.identityETags("\"abc-gzip\", W/\"def-gzip\""));
+    }
+
+    @Test
+    void readsAcceptEncoding() {
+        assertTrue(GzipResponseFilter.acceptsGzip("gzip"));
+        assertTrue(GzipResponseFilter.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(GzipResponseFilter.acceptsGzip("*"));
+        assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(GzipResponseFilter.acceptsGzip("identity"));
+        assertFalse(GzipResponseFilter.acceptsGzip(null));
+    }
+
+    private MockHttpServletResponse run(String uri, String acceptEncoding, byte[] body) throws Exception {
+        return run(request(uri, acceptEncoding, null), body);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, byte[] body) throws Exception {
+        return run(filter, request, body);
+    }
+
+    /** Runs a servlet that answers 304 when {@code If-None-Match} names its ETag, as Spring MVC does. */
+    private static MockHttpServletResponse run(GzipResponseFilter filter, MockHttpServletRequest request, byte[] body)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setHeader(HttpHeaders.ETAG, "\"abc\"");
+                if ("\"abc\"".equals(req.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                    resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(body);
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static byte[] json(int size) {
+        StringBuilder json = new StringBuilder("[");
+        while (json.length() < size) {
+            json.append("{\"id\":\"").append(json.length()).append("\",\"status\":\"PENDING\"},");
+        }
+        json.setCharAt(json.length() - 1, ']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -1,21 +1,29 @@
 package com.kishore.taskmanager.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,10 +32,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kishore.taskmanager.exceptionhandling.BufferedWritePendingException;
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyInProgressException;
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyMismatchException;
+import com.kishore.taskmanager.model.BulkOperationResult;
 import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskLookupResult;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.model.TaskWriteResult;
+import com.kishore.taskmanager.service.BulkTaskService;
+import com.kishore.taskmanager.service.IdempotentTaskService;
 import com.kishore.taskmanager.service.TaskService;
+import com.kishore.taskmanager.service.TaskStatsService;
 
 @WebMvcTest(TaskController.class)
 class TaskControllerTest {
@@ -38,6 +58,15 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private IdempotentTaskService idempotentTaskService;
+
+    @MockitoBean
+    private BulkTaskService bulkTaskService;
+
+    @MockitoBean
+    private TaskStatsService taskStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,6 +95,42 @@ class TaskControllerTest {
         verify(taskService).create(any(Task.class));
     }
     
+    @Test
+    void shouldCreateIdempotentlyWithKey() throws Exception {
+        when(idempotentTaskService.create(any(Task.class), eq("key-1"))).thenReturn(sampleTask);
+
+        mockMvc.perform(post("/tasks")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value("123"));
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyReusedWithDifferentBody() throws Exception {
+        when(idempotentTaskService.create(any(Task.class), eq("key-1")))
+            .thenThrow(new IdempotencyKeyMismatchException("key-1"));
+
+        mockMvc.perform(post("/tasks")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void shouldReturnConflictWhileIdempotentCreateIsInProgress() throws Exception {
+        when(idempotentTaskService.create(any(Task.class), eq("key-1")))
+            .thenThrow(new IdempotencyKeyInProgressException("key-1"));
+
+        mockMvc.perform(post("/tasks")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+            .andExpect(status().isConflict());
+    }
+
     @Test
     void shouldReturnBadRequestForEmptyBody() throws Exception {
         mockMvc.perform(post("/tasks")
@@ -74,30 +139,105 @@ class TaskControllerTest {
             .andExpect(status().isBadRequest());
     }
     
+    @Test
+    void shouldSaveBatchOfTasks() throws Exception {
+        when(taskService.saveAll(any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.written("123"))));
+
+        MvcResult result = mockMvc.perform(post("/tasks/_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(sampleTask))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value("123"))
+            .andExpect(jsonPath("$[0].status").value("WRITTEN"));
+    }
+
+    @Test
+    void shouldReturnMultiStatusWhenSomeBatchWritesFail() throws Exception {
+        when(taskService.saveAll(any()))
+            .thenReturn(CompletableFuture.completedFuture(
+                List.of(TaskWriteResult.written("123"), TaskWriteResult.failed("456", "throttled"))));
+
+        MvcResult result = mockMvc.perform(post("/tasks/_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(sampleTask, sampleTask))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].error").value("throttled"));
+    }
+
     @Test
     void shouldReturnAllTasks() throws Exception {
-        when(taskService.findAll(Optional.empty(), Optional.empty()))
-            .thenReturn(List.of(sampleTask));
+        when(taskService.findAll(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()))
+            .thenReturn(new TaskPage(List.of(sampleTask), null));
 
         mockMvc.perform(get("/tasks"))
             .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Token"))
             .andExpect(jsonPath("$.length()").value(1))
             .andExpect(jsonPath("$[0].title").value("Mock Task"));
     }
     
+    @Test
+    void shouldReturnNextTokenWhenMorePagesExist() throws Exception {
+        when(taskService.findAll(Optional.of("PENDING"), Optional.of(1), Optional.of("abc"), Optional.empty()))
+            .thenReturn(new TaskPage(List.of(sampleTask), "def"));
+
+        mockMvc.perform(get("/tasks").param("status", "PENDING").param("pageSize", "1").param("nextToken", "abc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Next-Token", "def"))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldAcceptLimitAsPageSizeAlias() throws Exception {
+        when(taskService.findAll(Optional.empty(), Optional.of(5), Optional.empty(), Optional.empty()))
+            .thenReturn(new TaskPage(List.of(sampleTask), null));
+
+        mockMvc.perform(get("/tasks").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoTasksExist() throws Exception {
-        when(taskService.findAll(Optional.empty(), Optional.empty()))
-            .thenReturn(List.of());
+        when(taskService.findAll(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()))
+            .thenReturn(new TaskPage(List.of(), null));
 
         mockMvc.perform(get("/tasks"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.length()").value(0));
     }
     
+    @Test
+    void shouldExportTasksAsNdjson() throws Exception {
+        Task other = new Task();
+        other.setId("456");
+        other.setTitle("Second");
+        when(taskService.streamAllPages()).thenReturn(Stream.of(List.of(sampleTask), List.of(other)));
+
+        String body = mockMvc.perform(get("/tasks/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("123", objectMapper.readValue(lines[0], Task.class).getId());
+        assertEquals("Second", objectMapper.readValue(lines[1], Task.class).getTitle());
+    }
+
     @Test
     void shouldReturnTaskById() throws Exception {
-        when(taskService.read("123")).thenReturn(sampleTask);
+        when(taskService.read("123", Optional.empty())).thenReturn(sampleTask);
 
         mockMvc.perform(get("/tasks/123"))
             .andExpect(status().isOk())
@@ -105,9 +245,69 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.title").value("Mock Task"));
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(taskService.read("123", Optional.empty())).thenReturn(sampleTask);
+
+        String etag = mockMvc.perform(get("/tasks/123"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/tasks/123").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldChangeETagWhenTaskChanges() throws Exception {
+        when(taskService.read("123", Optional.empty())).thenReturn(sampleTask);
+        String etag = mockMvc.perform(get("/tasks/123")).andReturn().getResponse().getHeader("ETag");
+
+        sampleTask.setStatus("DONE");
+
+        mockMvc.perform(get("/tasks/123").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("DONE"));
+    }
+
+    @Test
+    void shouldOmitFieldsNotRequested() throws Exception {
+        Task sparse = new Task();
+        sparse.setId("123");
+        sparse.setTitle("Mock Task");
+        when(taskService.read("123", Optional.of("title"))).thenReturn(sparse);
+
+        mockMvc.perform(get("/tasks/123").param("fields", "title"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Mock Task"))
+            .andExpect(jsonPath("$.description").doesNotExist())
+            .andExpect(jsonPath("$.status").doesNotExist());
+    }
+
+    @Test
+    void shouldLookUpSeveralTasks() throws Exception {
+        when(taskService.findByIds(List.of("123", "999")))
+            .thenReturn(CompletableFuture.completedFuture(
+                List.of(TaskLookupResult.found(sampleTask), TaskLookupResult.notFound("999"))));
+
+        MvcResult result = mockMvc.perform(post("/tasks/_mget")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("123", "999"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("FOUND"))
+            .andExpect(jsonPath("$[0].task.title").value("Mock Task"))
+            .andExpect(jsonPath("$[1].id").value("999"))
+            .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+    }
+
     @Test
     void shouldReturnNotFoundWhenTaskDoesNotExist() throws Exception {
-        when(taskService.read("999"))
+        when(taskService.read("999", Optional.empty()))
             .thenThrow(new NoSuchElementException("Task not found"));
 
         mockMvc.perform(get("/tasks/999"))
@@ -150,6 +350,33 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
     
+    @Test
+    void shouldAskToRetryUpdateWhileBufferedWriteIsPending() throws Exception {
+        when(taskService.update(eq("123"), any(Task.class)))
+            .thenThrow(new BufferedWritePendingException(List.of("123")));
+
+        mockMvc.perform(put("/tasks/123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void shouldAcceptBufferedUpdateWhenAsyncPreferred() throws Exception {
+        Task updatedTask = new Task();
+        updatedTask.setStatus("DONE");
+
+        when(taskService.updateLater(eq("123"), any(Task.class))).thenReturn(true);
+
+        mockMvc.perform(put("/tasks/123")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedTask)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Preference-Applied", "respond-async"));
+    }
+
     @Test
     void shouldReturnBadRequestForBlankIdOnUpdate() throws Exception {
         Task updatedTask = new Task();
@@ -176,6 +403,72 @@ class TaskControllerTest {
             .andExpect(content().string("Task not found"));
     }
 
+    @Test
+    void shouldPatchTask() throws Exception {
+        Task patched = new Task();
+        patched.setId("123");
+        patched.setStatus("DONE");
+
+        when(taskService.patch("123", Map.of("status", "DONE"))).thenReturn(patched);
+
+        mockMvc.perform(patch("/tasks/123")
+                .contentType(TaskController.MERGE_PATCH_JSON)
+                .content("{\"status\":\"DONE\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value("123"))
+            .andExpect(jsonPath("$.status").value("DONE"));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenPatchingNonexistentTask() throws Exception {
+        when(taskService.patch(eq("999"), any()))
+            .thenThrow(new NoSuchElementException("Task not found"));
+
+        mockMvc.perform(patch("/tasks/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Updated\"}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnNextTokenWhenBulkDeleteStopsEarly() throws Exception {
+        when(bulkTaskService.deleteByStatus("DONE", Optional.empty(), Optional.empty()))
+            .thenReturn(new BulkOperationResult(100, 0, 0, List.of(), "token-1"));
+
+        mockMvc.perform(delete("/tasks").param("status", "DONE"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(TaskController.NEXT_TOKEN_HEADER, "token-1"))
+            .andExpect(jsonPath("$.succeeded").value(100))
+            .andExpect(jsonPath("$.complete").value(false));
+    }
+
+    @Test
+    void shouldRequireStatusForBulkDelete() throws Exception {
+        mockMvc.perform(delete("/tasks"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldTransitionStatusFromToken() throws Exception {
+        when(bulkTaskService.transitionStatus("PENDING", "DONE", Optional.of("token-1"), Optional.empty()))
+            .thenReturn(new BulkOperationResult(40, 2, 0, List.of(), null));
+
+        mockMvc.perform(post("/tasks/_transition").param("nextToken", "token-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"from\":\"PENDING\",\"to\":\"DONE\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(TaskController.NEXT_TOKEN_HEADER))
+            .andExpect(jsonPath("$.skipped").value(2))
+            .andExpect(jsonPath("$.complete").value(true));
+    }
 
+    @Test
+    void shouldReturnStatusCounts() throws Exception {
+        when(taskStatsService.getStats()).thenReturn(new TaskStats(Map.of("DONE", 3L, "PENDING", 2L)));
 
-}
\ No newline at end of file
+        mockMvc.perform(get("/tasks/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.counts.DONE").value(3))
+            .andExpect(jsonPath("$.total").value(5));
+    }
+}
@@ -21,6 +21,7 @@ import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import com.kishore.taskmanager.TestAwsConfig;
 import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskSchema;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
@@ -28,9 +29,9 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
@@ -57,6 +58,7 @@ public class TaskRepositoryIntegrationTest {
     	LocalStackContainer localstack = LocalStackTestConfig.getContainer();
     	
     	dynamoDbClient = DynamoDbClient.builder()
+    	        .httpClientBuilder(ApacheHttpClient.builder())
     	        .endpointOverride(localstack.getEndpointOverride(DYNAMODB))
     	        .region(Region.of(localstack.getRegion().toString()))
     	        .credentialsProvider(StaticCredentialsProvider.create(
@@ -97,7 +99,7 @@ public class TaskRepositoryIntegrationTest {
             .dynamoDbClient(dynamoDbClient)
             .build();
 
-        taskTable = enhancedClient.table("Tasks", TableSchema.fromBean(Task.class));
+        taskTable = enhancedClient.table("Tasks", TaskSchema.INSTANCE);
     }
 
     @Test
@@ -200,7 +202,7 @@ public class TaskRepositoryIntegrationTest {
             .build();
 
         DynamoDbIndex<Task> statusIndex = enhancedClient
-            .table("Tasks", TableSchema.fromBean(Task.class))
+            .table("Tasks", TaskSchema.INSTANCE)
             .index("status-index");
 
         PageIterable<Task> iterable = PageIterable.create(statusIndex.query(
@@ -0,0 +1,120 @@
+package com.kishore.taskmanager.lambda;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal in-process stand-in for the DynamoDB JSON API on the loopback interface.
+ * Every operation succeeds with an empty result, which is enough to drive the SDK's
+ * marshalling, signing and unmarshalling code without touching a real table. Faults can
+ * be injected with {@link #failNext}, to exercise retry and throttling behaviour.
+ */
+public final class DynamoDbStubServer implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.0";
+
+    /** Error responses DynamoDB sends, by the exception the SDK maps them to. */
+    public enum Fault {
+        PROVISIONED_THROUGHPUT_EXCEEDED(400, "ProvisionedThroughputExceededException"),
+        THROTTLING(400, "ThrottlingException"),
+        INTERNAL_SERVER_ERROR(500, "InternalServerError");
+
+        private final int status;
+        private final String type;
+
+        Fault(int status, String type) {
+            this.status = status;
+            this.type = type;
+        }
+    }
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger faultsLeft = new AtomicInteger();
+    private volatile Fault fault;
+
+    private DynamoDbStubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static DynamoDbStubServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        DynamoDbStubServer stub = new DynamoDbStubServer(server);
+        server.createContext("/", stub::handle);
+        server.start();
+        return stub;
+    }
+
+    public URI endpoint() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort());
+    }
+
+    /** Answers the next {@code count} requests, whatever their operation, with {@code fault}. */
+    public void failNext(int count, Fault fault) {
+        this.fault = fault;
+        faultsLeft.set(count);
+    }
+
+    /** Requests received so far, retries included. */
+    public int requests() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            exchange.getRequestBody().readAllBytes();
+            requests.incrementAndGet();
+
+            String target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+            String operation = target == null ? "" : target.substring(target.indexOf('.') + 1);
+
+            int status = 200;
+            String response = responseFor(operation);
+            Fault injected = fault;
+            if (injected != null && faultsLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                status = injected.status;
+                response = "{\"__type\":\"com.amazonaws.dynamodb.v20120810#" + injected.type
+                        + "\",\"message\":\"Injected by DynamoDbStubServer\"}";
+            }
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String responseFor(String operation) {
+        switch (operation) {
+            case "Scan":
+            case "Query":
+                return "{\"Items\":[],\"Count\":0,\"ScannedCount\":0}";
+            case "BatchGetItem":
+                return "{\"Responses\":{},\"UnprocessedKeys\":{}}";
+            case "BatchWriteItem":
+                return "{\"UnprocessedItems\":{}}";
+            case "DescribeTable":
+                return "{\"Table\":{\"TableName\":\"Tasks\",\"TableStatus\":\"ACTIVE\"}}";
+            default:
+                return "{}";
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
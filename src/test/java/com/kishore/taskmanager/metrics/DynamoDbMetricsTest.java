@@ -0,0 +1,185 @@
+package com.kishore.taskmanager.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.kishore.taskmanager.config.DynamoDbRateGovernor;
+import com.kishore.taskmanager.config.DynamoDbRateGovernor.Budget;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.lambda.DynamoDbStubServer;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
+import com.kishore.taskmanager.repository.TaskCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+class DynamoDbMetricsTest {
+
+	private SimpleMeterRegistry registry;
+	private DynamoDbMetrics metrics;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		metrics = new DynamoDbMetrics(registry, new DynamoProperties());
+	}
+
+	@Test
+	void shouldRequestTotalConsumedCapacity() {
+		GetItemRequest request = GetItemRequest.builder().tableName("Tasks").build();
+
+		SdkRequest modified = DynamoDbMetrics.withTotalCapacity(request);
+
+		assertEquals(ReturnConsumedCapacity.TOTAL, ((GetItemRequest) modified).returnConsumedCapacity());
+	}
+
+	@Test
+	void shouldLeaveRequestsWithoutCapacityUnchanged() {
+		DescribeTableRequest request = DescribeTableRequest.builder().tableName("Tasks").build();
+
+		assertSame(request, DynamoDbMetrics.withTotalCapacity(request));
+	}
+
+	@Test
+	void shouldSumCapacityAcrossTables() {
+		BatchWriteItemResponse response = BatchWriteItemResponse.builder()
+				.consumedCapacity(
+						ConsumedCapacity.builder().tableName("Tasks").capacityUnits(2.0).build(),
+						ConsumedCapacity.builder().tableName("Other").capacityUnits(1.5).build())
+				.build();
+
+		assertEquals(3.5, DynamoDbMetrics.consumedCapacity(response));
+	}
+
+	@Test
+	void shouldRecordLatencyCapacityAndRetries() {
+		GetItemRequest request = GetItemRequest.builder().tableName("Tasks").build();
+		GetItemResponse response = GetItemResponse.builder()
+				.consumedCapacity(ConsumedCapacity.builder().tableName("Tasks").capacityUnits(0.5).build())
+				.build();
+		ExecutionAttributes attributes = attributes("GetItem");
+		InterceptorContext context = InterceptorContext.builder().request(request).response(response).build();
+
+		metrics.beforeExecution(context, attributes);
+		metrics.beforeTransmission(context, attributes);
+		metrics.beforeTransmission(context, attributes);
+		metrics.afterExecution(context, attributes);
+
+		assertEquals(1, registry.get("dynamodb.requests")
+				.tags("operation", "GetItem", "table", "Tasks", "endpoint", DynamoDbMetrics.NO_ENDPOINT, "outcome", "success")
+				.timer().count());
+		assertEquals(0.5, registry.get("dynamodb.consumed.capacity").tag("operation", "GetItem").counter().count());
+		assertEquals(1, registry.get("dynamodb.retries").tag("operation", "GetItem").counter().count());
+	}
+
+	@Test
+	void shouldCountThrottledFailures() {
+		GetItemRequest request = GetItemRequest.builder().tableName("Tasks").build();
+		ExecutionAttributes attributes = attributes("GetItem");
+		InterceptorContext context = InterceptorContext.builder().request(request).build();
+
+		metrics.beforeExecution(context, attributes);
+		metrics.beforeTransmission(context, attributes);
+		metrics.onExecutionFailure(new FailedExecution(request, ProvisionedThroughputExceededException.builder()
+				.statusCode(400)
+				.awsErrorDetails(AwsErrorDetails.builder().errorCode("ProvisionedThroughputExceededException").build())
+				.build()), attributes);
+
+		assertEquals(1, registry.get("dynamodb.requests").tag("outcome", "error").timer().count());
+		assertEquals(1, registry.get("dynamodb.throttles").tag("operation", "GetItem").counter().count());
+	}
+
+	@Test
+	void shouldTagPacedAsyncCallsWithTheEndpointThatStartedThem() throws Exception {
+		DynamoProperties props = new DynamoProperties();
+		props.getRateLimit().setEnabled(true);
+		props.getRateLimit().getReads().setInitialRate(10);
+		DynamoDbRateGovernor governor = new DynamoDbRateGovernor(registry, props);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/1");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tasks/{id}");
+
+		try (DynamoDbStubServer stub = DynamoDbStubServer.start();
+				DynamoDbAsyncClient client = DynamoDbAsyncClient.builder()
+						.httpClientBuilder(NettyNioAsyncHttpClient.builder())
+						.endpointOverride(stub.endpoint())
+						.region(Region.US_EAST_1)
+						.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+						.overrideConfiguration(config -> config.addExecutionInterceptor(metrics))
+						.build()) {
+			TaskAsyncRepository repository = new TaskAsyncRepository(client, props, new TaskCache(props), governor);
+			CompletableFuture<Task> paced;
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+			try {
+				governor.pace("Tasks", Budget.READ, 10);
+				paced = repository.getTask("1");
+			} finally {
+				RequestContextHolder.resetRequestAttributes();
+			}
+
+			// The call starts later on the governor's timer, with no request bound.
+			assertFalse(paced.isDone());
+			paced.get(5, TimeUnit.SECONDS);
+		}
+
+		assertEquals(1, registry.get("dynamodb.requests")
+				.tags("operation", "GetItem", "endpoint", "GET /tasks/{id}")
+				.timer().count());
+	}
+
+	private static ExecutionAttributes attributes(String operation) {
+		ExecutionAttributes attributes = new ExecutionAttributes();
+		attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operation);
+		return attributes;
+	}
+
+	private record FailedExecution(SdkRequest request, Throwable exception) implements Context.FailedExecution {
+
+		@Override
+		public Optional<SdkHttpRequest> httpRequest() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Optional<SdkHttpResponse> httpResponse() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Optional<SdkResponse> response() {
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.kishore.taskmanager.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class TaskSchemaTest {
+
+	private final TableSchema<Task> beanSchema = TableSchema.fromBean(Task.class);
+
+	@Test
+	void shouldMatchBeanSchemaAttributesAndKeys() {
+		TableMetadata expected = beanSchema.tableMetadata();
+		TableMetadata actual = TaskSchema.INSTANCE.tableMetadata();
+
+		assertEquals(beanSchema.attributeNames().stream().sorted().toList(),
+				TaskSchema.INSTANCE.attributeNames().stream().sorted().toList());
+		assertEquals(expected.primaryPartitionKey(), actual.primaryPartitionKey());
+		assertEquals(expected.indexPartitionKey(TaskSchema.STATUS_INDEX),
+				actual.indexPartitionKey(TaskSchema.STATUS_INDEX));
+	}
+
+	@Test
+	void shouldMapItemsLikeBeanSchema() {
+		Task task = new Task();
+		task.setId("123");
+		task.setTitle("Test Task");
+		task.setDescription("Test Description");
+		task.setStatus("PENDING");
+
+		Map<String, AttributeValue> item = TaskSchema.INSTANCE.itemToMap(task, true);
+
+		assertEquals(beanSchema.itemToMap(task, true), item);
+		assertEquals(task.toString(), TaskSchema.INSTANCE.mapToItem(item).toString());
+	}
+}
@@ -0,0 +1,173 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyInProgressException;
+import com.kishore.taskmanager.model.IdempotencyRecord;
+import com.kishore.taskmanager.model.Task;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+class IdempotencyRepositoryTest {
+
+	private DynamoDbClient client;
+	private TaskRepository taskRepository;
+	private IdempotencyRepository repository;
+
+	@BeforeEach
+	void setup() {
+		client = mock(DynamoDbClient.class);
+		taskRepository = mock(TaskRepository.class);
+		repository = new IdempotencyRepository(client, taskRepository, new DynamoProperties());
+	}
+
+	@Test
+	void shouldClaimFreeKeyWithConditionalPut() {
+		when(client.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+
+		assertEquals(Optional.empty(), repository.claim("key-1", record("hash", "abc")));
+
+		ArgumentCaptor<PutItemRequest> put = ArgumentCaptor.forClass(PutItemRequest.class);
+		verify(client).putItem(put.capture());
+		assertEquals(IdempotencyRepository.TABLE_NAME, put.getValue().tableName());
+		assertEquals("attribute_not_exists(#key) OR #expiresAt < :now", put.getValue().conditionExpression());
+		assertEquals("abc", put.getValue().item().get("taskId").s());
+		assertTrue(put.getValue().item().containsKey("expiresAt"));
+	}
+
+	@Test
+	void shouldReturnStoredRecordWhenKeyIsTaken() {
+		when(client.putItem(any(PutItemRequest.class))).thenThrow(taken(true));
+
+		IdempotencyRecord first = repository.claim("key-1", record("hash", "second")).orElseThrow();
+
+		assertEquals("first", first.getTask().getId());
+		assertEquals("Write docs", first.getTask().getTitle());
+		assertTrue(first.matches("hash"));
+		assertTrue(first.isCompleted());
+	}
+
+	@Test
+	void shouldNotCacheClaimThatIsStillInProgress() {
+		when(client.putItem(any(PutItemRequest.class))).thenThrow(taken(false));
+
+		assertFalse(repository.claim("key-1", record("hash", "second")).orElseThrow().isCompleted());
+		assertFalse(repository.claim("key-1", record("hash", "second")).orElseThrow().isCompleted());
+
+		// Each repeat asks DynamoDB again, so it sees the create once it completes.
+		verify(client, times(2)).putItem(any(PutItemRequest.class));
+	}
+
+	@Test
+	void shouldRefuseKeyClaimedAndReleasedConcurrently() {
+		when(client.putItem(any(PutItemRequest.class)))
+				.thenThrow(ConditionalCheckFailedException.builder().message("taken").build());
+		when(client.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().item(Map.of()).build());
+
+		assertThrows(IdempotencyKeyInProgressException.class, () -> repository.claim("key-1", record("hash", "abc")));
+		verify(client, times(2)).putItem(any(PutItemRequest.class));
+	}
+
+	@Test
+	void shouldWriteTaskAndCompleteKeyInOneTransaction() {
+		IdempotencyRecord record = record("hash", "abc");
+		repository.createCompleted("key-1", record);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TransactWriteItem>> alongside = ArgumentCaptor.forClass(List.class);
+		verify(taskRepository).createTask(eq(record.getTask()), alongside.capture());
+		Update update = alongside.getValue().get(0).update();
+		assertEquals(IdempotencyRepository.TABLE_NAME, update.tableName());
+		assertEquals("SET #completed = :true, #expiresAt = :expiresAt", update.updateExpression());
+		assertEquals("#taskId = :taskId", update.conditionExpression());
+		assertEquals("abc", update.expressionAttributeValues().get(":taskId").s());
+
+		IdempotencyRecord repeat = repository.claim("key-1", record("hash", "other")).orElseThrow();
+		assertEquals("abc", repeat.getTask().getId());
+		assertTrue(repeat.isCompleted());
+		assertEquals("abc", repository.claim("key-1", record("hash", "other")).orElseThrow().getTask().getId());
+		verifyNoMoreInteractions(client);
+	}
+
+	@Test
+	void shouldNotRememberKeyWhenTransactionFails() {
+		doThrow(TransactionCanceledException.builder().message("cancelled").build())
+				.when(taskRepository).createTask(any(Task.class), anyList());
+		when(client.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+
+		assertThrows(TransactionCanceledException.class, () -> repository.createCompleted("key-1", record("hash", "abc")));
+		assertEquals(Optional.empty(), repository.claim("key-1", record("hash", "abc")));
+	}
+
+	@Test
+	void shouldReleaseOnlyOwnClaim() {
+		when(client.deleteItem(any(DeleteItemRequest.class)))
+				.thenThrow(ConditionalCheckFailedException.builder().message("taken over").build());
+
+		repository.release("key-1", record("hash", "abc"));
+
+		ArgumentCaptor<DeleteItemRequest> delete = ArgumentCaptor.forClass(DeleteItemRequest.class);
+		verify(client).deleteItem(delete.capture());
+		assertEquals("#taskId = :taskId", delete.getValue().conditionExpression());
+		assertEquals("abc", delete.getValue().expressionAttributeValues().get(":taskId").s());
+	}
+
+	@Test
+	void shouldForgetReleasedKeys() {
+		repository.createCompleted("key-1", record("hash", "abc"));
+		repository.release("key-1", record("hash", "abc"));
+		when(client.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+
+		assertEquals(Optional.empty(), repository.claim("key-1", record("hash", "def")));
+		verify(client, times(1)).putItem(any(PutItemRequest.class));
+	}
+
+	private static ConditionalCheckFailedException taken(boolean completed) {
+		return ConditionalCheckFailedException.builder()
+				.message("taken")
+				.item(Map.of("idempotencyKey", AttributeValue.fromS("key-1"),
+						"requestHash", AttributeValue.fromS("hash"),
+						"taskId", AttributeValue.fromS("first"),
+						"title", AttributeValue.fromS("Write docs"),
+						"completed", AttributeValue.fromBool(completed)))
+				.build();
+	}
+
+	private static IdempotencyRecord record(String hash, String id) {
+		Task task = new Task();
+		task.setId(id);
+		task.setTitle("Write docs");
+		return new IdempotencyRecord(hash, task);
+	}
+}
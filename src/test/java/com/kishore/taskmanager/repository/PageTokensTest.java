@@ -0,0 +1,38 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class PageTokensTest {
+
+	@Test
+	void shouldRoundTripIndexKey() {
+		Map<String, AttributeValue> key = Map.of(
+				"id", AttributeValue.fromS("123"),
+				"status", AttributeValue.fromS("PENDING"));
+
+		String token = PageTokens.encode(key);
+
+		assertEquals(key, PageTokens.decode(token));
+	}
+
+	@Test
+	void shouldReturnNullTokenForLastPage() {
+		assertNull(PageTokens.encode(null));
+		assertNull(PageTokens.encode(Map.of()));
+	}
+
+	@Test
+	void shouldRejectTamperedToken() {
+		assertThrows(IllegalArgumentException.class, () -> PageTokens.decode("not-a-token"));
+		assertThrows(IllegalArgumentException.class,
+				() -> PageTokens.decode(PageTokens.encode(Map.of("title", AttributeValue.fromS("x")))));
+	}
+}
@@ -0,0 +1,83 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.kishore.taskmanager.model.Task;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+class ParallelScanTest {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@SuppressWarnings("unchecked")
+	private final DynamoDbTable<Task> table = mock(DynamoDbTable.class);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private static Task task(String id) {
+		Task task = new Task();
+		task.setId(id);
+		return task;
+	}
+
+	/** Each segment returns two pages of two tasks, ids prefixed with the segment number. */
+	private static PageIterable<Task> segmentPages(ScanEnhancedRequest request) {
+		int segment = request.segment();
+		List<Page<Task>> pages = new ArrayList<>();
+		for (int page = 0; page < 2; page++) {
+			pages.add(Page.create(List.of(task(segment + "-" + page + "a"), task(segment + "-" + page + "b"))));
+		}
+		pages.add(Page.create(List.of()));
+		return PageIterable.create(pages::iterator);
+	}
+
+	@Test
+	void shouldMergeEverySegment() {
+		when(table.scan(any(ScanEnhancedRequest.class)))
+			.thenAnswer(invocation -> segmentPages(invocation.getArgument(0)));
+
+		Set<String> ids;
+		try (Stream<List<Task>> pages = ParallelScan.pages(table, 4, executor, ScanEnhancedRequest::builder)) {
+			ids = pages.flatMap(List::stream).map(Task::getId).collect(Collectors.toSet());
+		}
+
+		assertEquals(16, ids.size());
+	}
+
+	@Test
+	void shouldPropagateSegmentFailure() {
+		when(table.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation -> {
+			ScanEnhancedRequest request = invocation.getArgument(0);
+			if (request.segment() == 1) {
+				throw new IllegalStateException("segment failed");
+			}
+			return segmentPages(request);
+		});
+
+		try (Stream<List<Task>> pages = ParallelScan.pages(table, 3, executor, ScanEnhancedRequest::builder)) {
+			assertThrows(IllegalStateException.class, () -> pages.forEach(page -> { }));
+		}
+	}
+}
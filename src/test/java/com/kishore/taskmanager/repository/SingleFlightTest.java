@@ -0,0 +1,102 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>(value -> value + "-copy");
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.load("123", key -> {
+			loads.incrementAndGet();
+			await(release);
+			return "task";
+		}), executor);
+		waitUntil(() -> loads.get() == 1);
+
+		CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+				() -> flight.load("123", key -> "second load"), executor);
+		waitUntil(() -> flight.coalescedCount() == 1);
+		release.countDown();
+
+		assertEquals("task", leader.get(5, TimeUnit.SECONDS));
+		assertEquals("task-copy", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void shouldShareFailureWithWaitingCallers() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>(value -> value);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		IllegalStateException failure = new IllegalStateException("throttled");
+
+		CompletableFuture.runAsync(() -> flight.load("123", key -> {
+			started.countDown();
+			await(release);
+			throw failure;
+		}), executor);
+		started.await(5, TimeUnit.SECONDS);
+
+		CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+				() -> flight.load("123", key -> "second load"), executor);
+		waitUntil(() -> flight.coalescedCount() == 1);
+		release.countDown();
+
+		Exception thrown = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+		assertSame(failure, thrown.getCause());
+	}
+
+	@Test
+	void shouldLoadAgainOnceFlightCompletes() {
+		SingleFlight<String, String> flight = new SingleFlight<>(value -> value);
+		AtomicInteger loads = new AtomicInteger();
+
+		flight.load("123", key -> "v" + loads.incrementAndGet());
+		String second = flight.load("123", key -> "v" + loads.incrementAndGet());
+
+		assertEquals("v2", second);
+		assertEquals(0, flight.coalescedCount());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("Timed out waiting for condition");
+			}
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.kishore.taskmanager.config.DynamoDbRateGovernor;
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.TaskWriteResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+class TaskAsyncRepositoryTest {
+
+	private DynamoDbAsyncClient client;
+	private TaskAsyncRepository repository;
+
+	@BeforeEach
+	void setup() {
+		DynamoProperties props = new DynamoProperties();
+		client = mock(DynamoDbAsyncClient.class);
+		repository = new TaskAsyncRepository(client, props, new TaskCache(props),
+				new DynamoDbRateGovernor(new SimpleMeterRegistry(), props));
+	}
+
+	@Test
+	void shouldDeleteOnlyTasksStillInStatusWithoutCounters() {
+		when(client.deleteItem(any(DeleteItemRequest.class)))
+				.thenReturn(CompletableFuture.completedFuture(DeleteItemResponse.builder().build()))
+				.thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().message("moved").build()));
+
+		List<TaskWriteResult> results = repository.deleteTasksInStatus(List.of("1", "2"), "DONE").join();
+
+		assertEquals(TaskWriteResult.Status.WRITTEN, results.get(0).getStatus());
+		assertEquals(TaskWriteResult.Status.SKIPPED, results.get(1).getStatus());
+
+		ArgumentCaptor<DeleteItemRequest> deletes = ArgumentCaptor.forClass(DeleteItemRequest.class);
+		verify(client, times(2)).deleteItem(deletes.capture());
+		deletes.getAllValues().forEach(delete -> {
+			assertEquals("#status = :from", delete.conditionExpression());
+			assertEquals("DONE", delete.expressionAttributeValues().get(":from").s());
+		});
+		verify(client, never()).batchWriteItem(any(BatchWriteItemRequest.class));
+		verify(client, never()).updateItem(any(UpdateItemRequest.class));
+	}
+}
@@ -0,0 +1,151 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.Task;
+
+class TaskCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private Task stored;
+
+	private final Function<String, Task> loader = id -> {
+		loads.incrementAndGet();
+		return stored;
+	};
+
+	@BeforeEach
+	void setup() {
+		stored = new Task();
+		stored.setId("123");
+		stored.setTitle("Cached");
+	}
+
+	private static TaskCache cache(boolean enabled) {
+		DynamoProperties props = new DynamoProperties();
+		props.getCache().setEnabled(enabled);
+		return new TaskCache(props);
+	}
+
+	@Test
+	void shouldLoadOnceAndServeCopiesFromCache() {
+		TaskCache cache = cache(true);
+
+		Task first = cache.get("123", loader);
+		Task second = cache.get("123", loader);
+
+		assertEquals(1, loads.get());
+		assertEquals("Cached", second.getTitle());
+		assertNotSame(first, second);
+		assertEquals(1, cache.stats().hitCount());
+		assertEquals(1, cache.stats().missCount());
+	}
+
+	@Test
+	void shouldCacheMisses() {
+		TaskCache cache = cache(true);
+		stored = null;
+
+		assertNull(cache.get("404", loader));
+		assertNull(cache.get("404", loader));
+
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void shouldReflectWritesAndDeletes() {
+		TaskCache cache = cache(true);
+		cache.get("123", loader);
+
+		Task updated = new Task();
+		updated.setId("123");
+		updated.setTitle("Updated");
+		cache.put(updated);
+		updated.setTitle("Mutated after write");
+
+		assertEquals("Updated", cache.get("123", loader).getTitle());
+
+		cache.markDeleted("123");
+
+		assertNull(cache.get("123", loader));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void shouldNotLetLoadInFlightOverwriteConcurrentWrite() throws Exception {
+		TaskCache cache = cache(true);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+
+		// The load reads the old task, then a write lands before the load fills the cache.
+		CompletableFuture<Task> read = CompletableFuture.supplyAsync(() -> cache.get("123", id -> {
+			loading.countDown();
+			await(written);
+			return stored;
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+
+		Task updated = new Task();
+		updated.setId("123");
+		updated.setTitle("Updated");
+		cache.put(updated);
+		written.countDown();
+
+		assertEquals("Cached", read.get(5, TimeUnit.SECONDS).getTitle());
+		assertEquals("Updated", cache.get("123", loader).getTitle());
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	void shouldNotLetLoadInFlightRefillInvalidatedEntry() throws Exception {
+		TaskCache cache = cache(true);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch invalidated = new CountDownLatch(1);
+
+		CompletableFuture<Task> read = CompletableFuture.supplyAsync(() -> cache.get("123", id -> {
+			loading.countDown();
+			await(invalidated);
+			return stored;
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+
+		cache.invalidate("123");
+		invalidated.countDown();
+		read.get(5, TimeUnit.SECONDS);
+
+		cache.get("123", loader);
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void shouldPassThroughWhenDisabled() {
+		TaskCache cache = cache(false);
+
+		cache.get("123", loader);
+		cache.get("123", loader);
+
+		assertEquals(2, loads.get());
+		assertEquals(0, cache.stats().requestCount());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+class TaskRepositoryBackfillTest {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(1);
+	private DynamoDbClient client;
+	private TaskRepository repository;
+
+	@BeforeEach
+	void setup() {
+		DynamoProperties props = new DynamoProperties();
+		props.setScanSegments(1);
+
+		client = mock(DynamoDbClient.class);
+		repository = new TaskRepository(client, new TaskCache(props), mock(WriteBehindBuffer.class), props, executor,
+				Runnable::run);
+	}
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldRewriteOnlyStatusesThatAreNotNormalised() {
+		when(client.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder()
+				.items(item("1", "Done"), item("2", "PENDING"), item("3", "pending"), Map.of("id", AttributeValue.fromS("4")))
+				.build());
+		when(client.updateItem(any(UpdateItemRequest.class)))
+				.thenReturn(UpdateItemResponse.builder().build())
+				// Task 3 was written again while the backfill ran.
+				.thenThrow(ConditionalCheckFailedException.builder().message("changed").build());
+
+		assertEquals(1, repository.normalizeStatuses(status -> status.toUpperCase(Locale.ROOT)));
+
+		ArgumentCaptor<UpdateItemRequest> updates = ArgumentCaptor.forClass(UpdateItemRequest.class);
+		verify(client, times(2)).updateItem(updates.capture());
+		UpdateItemRequest first = updates.getAllValues().get(0);
+		assertEquals("1", first.key().get("id").s());
+		assertEquals("#status = :from", first.conditionExpression());
+		assertEquals("Done", first.expressionAttributeValues().get(":from").s());
+		assertEquals("DONE", first.expressionAttributeValues().get(":to").s());
+		assertEquals("3", updates.getAllValues().get(1).key().get("id").s());
+	}
+
+	private static Map<String, AttributeValue> item(String id, String status) {
+		return Map.of("id", AttributeValue.fromS(id), "status", AttributeValue.fromS(status));
+	}
+}
@@ -0,0 +1,144 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskWriteResult;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+class TaskRepositoryStatsTest {
+
+	private DynamoDbClient client;
+	private TaskRepository repository;
+
+	@BeforeEach
+	void setup() {
+		DynamoProperties props = new DynamoProperties();
+		props.getStats().setMaintenance(DynamoProperties.Stats.Maintenance.TRANSACTIONAL);
+		props.setCoalesceReads(false);
+
+		client = mock(DynamoDbClient.class);
+		repository = new TaskRepository(client, new TaskCache(props), mock(WriteBehindBuffer.class), props,
+				Runnable::run, Runnable::run);
+	}
+
+	@Test
+	void shouldMoveCountersWithTheWriteInOneTransaction() {
+		storedStatus("PENDING");
+
+		repository.saveTask(task("1", "DONE"));
+
+		List<TransactWriteItem> items = transactions(1).get(0).transactItems();
+		assertEquals(3, items.size());
+		assertEquals("#status = :storedStatus", items.get(0).put().conditionExpression());
+		assertEquals(counterUpdate("PENDING", "-1"), counterKeyAndDelta(items.get(1)));
+		assertEquals(counterUpdate("DONE", "1"), counterKeyAndDelta(items.get(2)));
+	}
+
+	@Test
+	void shouldNotTouchCountersWhenStatusIsUnchanged() {
+		storedStatus("DONE");
+
+		repository.saveTask(task("1", "DONE"));
+
+		assertEquals(1, transactions(1).get(0).transactItems().size());
+	}
+
+	@Test
+	void shouldRereadAndRetryWhenStatusChangedConcurrently() {
+		storedStatus("PENDING");
+		when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+				.thenThrow(TransactionCanceledException.builder()
+						.cancellationReasons(CancellationReason.builder().code("ConditionalCheckFailed").build(),
+								CancellationReason.builder().code("None").build())
+						.build())
+				.thenReturn(null);
+
+		repository.saveTask(task("1", "DONE"));
+
+		verify(client, times(2)).getItem(any(GetItemRequest.class));
+		transactions(2);
+	}
+
+	@Test
+	void shouldSkipDeleteOfMissingTask() {
+		when(client.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().build());
+
+		repository.deleteTask("1");
+
+		verify(client, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+	}
+
+	@Test
+	void shouldCountCreateWithoutReading() {
+		repository.createTask(task("1", "PENDING"));
+
+		verify(client, never()).getItem(any(GetItemRequest.class));
+		List<TransactWriteItem> items = transactions(1).get(0).transactItems();
+		assertEquals("attribute_not_exists(#id)", items.get(0).put().conditionExpression());
+		assertEquals(counterUpdate("PENDING", "1"), counterKeyAndDelta(items.get(1)));
+	}
+
+	@Test
+	void shouldCountEveryTaskOfABatch() {
+		storedStatus("PENDING");
+
+		List<TaskWriteResult> results = repository.saveTasksCounted(List.of(task("1", "DONE"), task("2", "DONE"))).join();
+
+		assertEquals(List.of("1", "2"), results.stream().map(TaskWriteResult::getId).collect(Collectors.toList()));
+		assertTrue(results.stream().allMatch(r -> r.getStatus() == TaskWriteResult.Status.WRITTEN));
+		transactions(2).forEach(transaction -> assertEquals(3, transaction.transactItems().size()));
+	}
+
+	private void storedStatus(String status) {
+		when(client.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+				.item(Map.of("id", AttributeValue.fromS("1"), "status", AttributeValue.fromS(status)))
+				.build());
+	}
+
+	private List<TransactWriteItemsRequest> transactions(int expected) {
+		ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+		verify(client, times(expected)).transactWriteItems(captor.capture());
+		return captor.getAllValues();
+	}
+
+	private static List<String> counterUpdate(String status, String delta) {
+		return List.of(TaskStatsRepository.TABLE_NAME, status, delta);
+	}
+
+	private static List<String> counterKeyAndDelta(TransactWriteItem item) {
+		return List.of(item.update().tableName(), item.update().key().get("status").s(),
+				item.update().expressionAttributeValues().get(":delta").n());
+	}
+
+	private static Task task(String id, String status) {
+		Task task = new Task();
+		task.setId(id);
+		task.setStatus(status);
+		return task;
+	}
+}
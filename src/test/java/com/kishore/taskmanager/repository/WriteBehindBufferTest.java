@@ -0,0 +1,150 @@
+package com.kishore.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.exceptionhandling.BufferedWritePendingException;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskWriteResult;
+
+class WriteBehindBufferTest {
+
+	private TaskAsyncRepository asyncRepository;
+	private WriteBehindBuffer buffer;
+
+	@BeforeEach
+	void setup() {
+		asyncRepository = mock(TaskAsyncRepository.class);
+		buffer = buffer(true, 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		buffer.close();
+	}
+
+	private WriteBehindBuffer buffer(boolean enabled, int capacity) {
+		DynamoProperties props = new DynamoProperties();
+		DynamoProperties.WriteBehind config = props.getWriteBehind();
+		config.setEnabled(enabled);
+		config.setCapacity(capacity);
+		config.setBatchSize(100);
+		// Only explicit flushes in these tests.
+		config.setFlushInterval(Duration.ofHours(1));
+		config.setOfferTimeout(Duration.ofMillis(10));
+		return new WriteBehindBuffer(asyncRepository, props);
+	}
+
+	private static Task task(String id, String status) {
+		Task task = new Task();
+		task.setId(id);
+		task.setStatus(status);
+		return task;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldCollapseWritesToSameIdAndFlushLatest() {
+		when(asyncRepository.saveTasks(anyList()))
+			.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.written("123"))));
+
+		assertTrue(buffer.offer(task("123", "PENDING")));
+		assertTrue(buffer.offer(task("123", "IN_PROGRESS")));
+		assertTrue(buffer.offer(task("123", "DONE")));
+		assertEquals("DONE", buffer.peek("123").getStatus());
+
+		buffer.flush();
+
+		ArgumentCaptor<List<Task>> written = ArgumentCaptor.forClass(List.class);
+		verify(asyncRepository).saveTasks(written.capture());
+		assertEquals(1, written.getValue().size());
+		assertEquals("DONE", written.getValue().get(0).getStatus());
+		assertEquals(2, buffer.coalescedCount());
+		assertNull(buffer.peek("123"));
+	}
+
+	@Test
+	void shouldRejectNewIdsWhenFull() {
+		assertTrue(buffer.offer(task("1", "PENDING")));
+		assertTrue(buffer.offer(task("2", "PENDING")));
+
+		assertFalse(buffer.offer(task("3", "PENDING")));
+		// A write to an id already waiting replaces it and needs no room.
+		assertTrue(buffer.offer(task("2", "DONE")));
+	}
+
+	@Test
+	void shouldRequeueFailedWrites() {
+		when(asyncRepository.saveTasks(anyList()))
+			.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.failed("123", "throttled"))))
+			.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.written("123"))));
+
+		buffer.offer(task("123", "DONE"));
+		buffer.flush();
+
+		assertEquals("DONE", buffer.peek("123").getStatus());
+
+		buffer.flush();
+
+		verify(asyncRepository, times(2)).saveTasks(anyList());
+		assertNull(buffer.peek("123"));
+	}
+
+	@Test
+	void shouldRefuseToSettleWhileFailedWriteAwaitsRetry() {
+		when(asyncRepository.saveTasks(anyList()))
+			.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.failed("123", "throttled"))))
+			.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.written("123"))));
+
+		buffer.offer(task("123", "DONE"));
+
+		// A delete or synchronous put must not go ahead: the retry would undo it.
+		assertThrows(BufferedWritePendingException.class, () -> buffer.settle(List.of("123")));
+		assertEquals("DONE", buffer.peek("123").getStatus());
+
+		buffer.settle(List.of("123"));
+
+		verify(asyncRepository, times(2)).saveTasks(anyList());
+		assertNull(buffer.peek("123"));
+		buffer.flush();
+		verify(asyncRepository, times(2)).saveTasks(anyList());
+	}
+
+	@Test
+	void shouldNotFlushWhenSettledIdsAreNotBuffered() {
+		buffer.offer(task("123", "DONE"));
+
+		buffer.settle(List.of("456"));
+
+		verifyNoInteractions(asyncRepository);
+	}
+
+	@Test
+	void shouldDoNothingWhenDisabled() {
+		WriteBehindBuffer disabled = buffer(false, 2);
+
+		assertFalse(disabled.offer(task("123", "DONE")));
+		disabled.flush();
+
+		verifyNoInteractions(asyncRepository);
+	}
+}
@@ -0,0 +1,122 @@
+package com.kishore.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.BulkOperationResult;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskWriteResult;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
+import com.kishore.taskmanager.repository.TaskRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTaskServiceTest {
+
+	private static final List<String> KEYS_ONLY = List.of("id");
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private TaskAsyncRepository taskAsyncRepository;
+
+	private DynamoProperties props;
+	private BulkTaskService bulkService;
+
+	@BeforeEach
+	void setup() {
+		props = new DynamoProperties();
+		props.getBulk().setWaveSize(2);
+		props.getBulk().setMaxItemsPerSecond(0);
+		bulkService = new BulkTaskService(taskRepository, taskAsyncRepository, props);
+	}
+
+	@Test
+	void shouldDeleteEveryWaveUntilIndexIsExhausted() {
+		when(taskRepository.findTasks(Optional.of("DONE"), 2, Optional.empty(), KEYS_ONLY))
+				.thenReturn(new TaskPage(List.of(task("1"), task("2")), "token-1"));
+		when(taskRepository.findTasks(Optional.of("DONE"), 2, Optional.of("token-1"), KEYS_ONLY))
+				.thenReturn(new TaskPage(List.of(task("3")), null));
+		when(taskAsyncRepository.deleteTasksInStatus(List.of("1", "2"), "DONE")).thenReturn(CompletableFuture.completedFuture(
+				List.of(TaskWriteResult.written("1"), TaskWriteResult.failed("2", "Unprocessed"))));
+		when(taskAsyncRepository.deleteTasksInStatus(List.of("3"), "DONE"))
+				.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.written("3"))));
+
+		BulkOperationResult result = bulkService.deleteByStatus(" done ", Optional.empty(), Optional.empty());
+
+		assertTrue(result.isComplete());
+		assertEquals(2, result.getSucceeded());
+		assertEquals(1, result.getFailed());
+		assertEquals(List.of("2"), result.getFailedIds());
+		verify(taskRepository).settleBufferedWrites(List.of("1", "2"));
+		verify(taskRepository).settleBufferedWrites(List.of("3"));
+	}
+
+	@Test
+	void shouldStopWithTokenWhenOutOfTime() {
+		when(taskRepository.findTasks(Optional.of("DONE"), 2, Optional.empty(), KEYS_ONLY))
+				.thenReturn(new TaskPage(List.of(task("1"), task("2")), "token-1"));
+		when(taskAsyncRepository.deleteTasksInStatus(List.of("1", "2"), "DONE")).thenReturn(CompletableFuture.completedFuture(
+				List.of(TaskWriteResult.written("1"), TaskWriteResult.written("2"))));
+
+		// Less Lambda time left than the safety margin: one wave, then hand back the token.
+		BulkOperationResult result = bulkService.deleteByStatus("DONE", Optional.empty(),
+				Optional.of(Duration.ofSeconds(1)));
+
+		assertFalse(result.isComplete());
+		assertEquals("token-1", result.getNextToken());
+		assertEquals(2, result.getSucceeded());
+		verify(taskRepository, times(1)).findTasks(any(), anyInt(), any(), any());
+	}
+
+	@Test
+	void shouldCountTasksThatChangedStatusAsSkipped() {
+		when(taskRepository.findTasks(Optional.of("PENDING"), 2, Optional.of("token-1"), KEYS_ONLY))
+				.thenReturn(new TaskPage(List.of(task("1"), task("2")), null));
+		when(taskAsyncRepository.transitionTasks(List.of("1", "2"), "PENDING", "DONE"))
+				.thenReturn(CompletableFuture.completedFuture(
+						List.of(TaskWriteResult.written("1"), TaskWriteResult.skipped("2", "Status is no longer PENDING"))));
+
+		BulkOperationResult result = bulkService.transitionStatus("pending", "done", Optional.of("token-1"),
+				Optional.empty());
+
+		assertNull(result.getNextToken());
+		assertEquals(1, result.getSucceeded());
+		assertEquals(1, result.getSkipped());
+	}
+
+	@Test
+	void shouldRejectTransitionToSameStatus() {
+		assertThrows(IllegalArgumentException.class,
+				() -> bulkService.transitionStatus("DONE", "done", Optional.empty(), Optional.empty()));
+		verify(taskRepository, never()).findTasks(any(), anyInt(), any(), any());
+	}
+
+	private static Task task(String id) {
+		Task task = new Task();
+		task.setId(id);
+		return task;
+	}
+}
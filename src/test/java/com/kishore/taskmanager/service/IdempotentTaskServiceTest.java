@@ -0,0 +1,130 @@
+package com.kishore.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyInProgressException;
+import com.kishore.taskmanager.exceptionhandling.IdempotencyKeyMismatchException;
+import com.kishore.taskmanager.model.IdempotencyRecord;
+import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.repository.IdempotencyRepository;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
+import com.kishore.taskmanager.repository.TaskRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentTaskServiceTest {
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private TaskAsyncRepository taskAsyncRepository;
+
+	@Mock
+	private IdempotencyRepository idempotencyRepository;
+
+	private IdempotentTaskService service;
+
+	@BeforeEach
+	void setup() {
+		service = new IdempotentTaskService(new TaskService(taskRepository, taskAsyncRepository), idempotencyRepository);
+	}
+
+	@Test
+	void shouldCreateTaskWhenKeyIsNew() {
+		when(idempotencyRepository.claim(eq("key-1"), any())).thenReturn(Optional.empty());
+
+		Task created = service.create(task("Write docs"), "key-1");
+
+		ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+		verify(idempotencyRepository).createCompleted(eq("key-1"), record.capture());
+		assertSame(created, record.getValue().getTask());
+		assertEquals("PENDING", created.getStatus());
+	}
+
+	@Test
+	void shouldReturnFirstTaskOnRetryWithoutWriting() {
+		Task original = task("Write docs");
+		original.setId("abc");
+		String hash = IdempotentTaskService.requestHash(task("Write docs"));
+		when(idempotencyRepository.claim(eq("key-1"), any())).thenReturn(Optional.of(new IdempotencyRecord(hash, original, true)));
+
+		Task replayed = service.create(task("Write docs"), "key-1");
+
+		assertEquals("abc", replayed.getId());
+		verify(idempotencyRepository, never()).createCompleted(any(), any());
+	}
+
+	@Test
+	void shouldRefuseRetryWhileFirstCreateIsInProgress() {
+		Task original = task("Write docs");
+		original.setId("abc");
+		String hash = IdempotentTaskService.requestHash(task("Write docs"));
+		when(idempotencyRepository.claim(eq("key-1"), any())).thenReturn(Optional.of(new IdempotencyRecord(hash, original)));
+
+		assertThrows(IdempotencyKeyInProgressException.class, () -> service.create(task("Write docs"), "key-1"));
+		verify(idempotencyRepository, never()).createCompleted(any(), any());
+	}
+
+	@Test
+	void shouldRejectKeyReusedWithDifferentRequest() {
+		Task original = task("Write docs");
+		original.setId("abc");
+		String hash = IdempotentTaskService.requestHash(task("Write docs"));
+		when(idempotencyRepository.claim(eq("key-1"), any())).thenReturn(Optional.of(new IdempotencyRecord(hash, original)));
+
+		assertThrows(IdempotencyKeyMismatchException.class, () -> service.create(task("Something else"), "key-1"));
+		verify(idempotencyRepository, never()).createCompleted(any(), any());
+	}
+
+	@Test
+	void shouldReleaseKeyWhenCreateFails() {
+		when(idempotencyRepository.claim(eq("key-1"), any())).thenReturn(Optional.empty());
+		doThrow(new IllegalStateException("boom")).when(idempotencyRepository).createCompleted(eq("key-1"), any());
+
+		assertThrows(IllegalStateException.class, () -> service.create(task("Write docs"), "key-1"));
+		verify(idempotencyRepository).release(eq("key-1"), any());
+	}
+
+	@Test
+	void shouldRejectBlankKey() {
+		assertThrows(IllegalArgumentException.class, () -> service.create(task("Write docs"), " "));
+	}
+
+	@Test
+	void shouldHashFieldBoundaries() {
+		Task a = task("ab");
+		a.setDescription(null);
+		Task b = task("a");
+		b.setDescription("b");
+		b.setStatus(null);
+		a.setStatus(null);
+
+		assertNotEquals(IdempotentTaskService.requestHash(a), IdempotentTaskService.requestHash(b));
+	}
+
+	private static Task task(String title) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setDescription("Idempotent create");
+		task.setStatus("pending");
+		return task;
+	}
+}
@@ -5,14 +5,21 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +29,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.kishore.taskmanager.model.Task;
+import com.kishore.taskmanager.model.TaskLookupResult;
+import com.kishore.taskmanager.model.TaskPage;
+import com.kishore.taskmanager.model.TaskWriteResult;
+import com.kishore.taskmanager.repository.TaskAsyncRepository;
 import com.kishore.taskmanager.repository.TaskRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +41,9 @@ class TaskServiceTest {
 	@Mock
 	private TaskRepository taskRepository;
 
+	@Mock
+	private TaskAsyncRepository taskAsyncRepository;
+
 	@InjectMocks
 	private TaskService taskService;
 
@@ -44,35 +58,104 @@ class TaskServiceTest {
 		sampleTask.setStatus("PENDING");
 	}
 
+	@Test // Sparse fieldset on a listing
+	void shouldProjectRequestedFieldsWithId() {
+		when(taskRepository.findTasks(Optional.empty(), TaskService.DEFAULT_PAGE_SIZE, Optional.empty(),
+				List.of("id", "title", "status")))
+			.thenReturn(new TaskPage(List.of(sampleTask), null));
+
+		taskService.findAll(Optional.empty(), Optional.empty(), Optional.empty(), Optional.of("title, status"));
+
+		verify(taskRepository).findTasks(Optional.empty(), TaskService.DEFAULT_PAGE_SIZE, Optional.empty(),
+				List.of("id", "title", "status"));
+	}
+
+	@Test // Sparse fieldset on a single read
+	void shouldReadOnlyRequestedFields() {
+		when(taskRepository.getTask("123", List.of("id", "title"))).thenReturn(sampleTask);
+
+		Task result = taskService.read("123", Optional.of("title"));
+
+		assertNotNull(result);
+	}
+
+	@Test // Unknown field in sparse fieldset
+	void shouldRejectUnknownField() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.read("123", Optional.of("title,priority")));
+	}
+
 	@Test // Get All Tasks
 	void shouldReturnAllTasks() {
-		when(taskRepository.getAllTasks(Optional.empty(), Optional.empty())).thenReturn(List.of(sampleTask));
+		when(taskRepository.findTasks(Optional.empty(), TaskService.DEFAULT_PAGE_SIZE, Optional.empty(), List.of()))
+			.thenReturn(new TaskPage(List.of(sampleTask), null));
 
-		List<Task> result = taskService.findAll(Optional.empty(), Optional.empty());
+		TaskPage result = taskService.findAll(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
 
-		assertEquals(1, result.size());
-		assertEquals("Unit Test", result.get(0).getTitle());
+		assertEquals(1, result.getItems().size());
+		assertEquals("Unit Test", result.getItems().get(0).getTitle());
+		assertFalse(result.hasNext());
 	}
 	
 	@Test // Empty Result from Repository
 	void shouldReturnEmptyListWhenNoTasksFound() {
-	    when(taskRepository.getAllTasks(Optional.empty(), Optional.empty()))
-	        .thenReturn(List.of());
+	    when(taskRepository.findTasks(Optional.empty(), TaskService.DEFAULT_PAGE_SIZE, Optional.empty(), List.of()))
+	        .thenReturn(new TaskPage(List.of(), null));
 
-	    List<Task> result = taskService.findAll(Optional.empty(), Optional.empty());
+	    TaskPage result = taskService.findAll(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
 
-	    assertTrue(result.isEmpty());
+	    assertTrue(result.getItems().isEmpty());
 	}
 
 
 	@Test // Get task by Status filter
 	void shouldFilterTasksByStatus() {
-		when(taskRepository.getAllTasks(Optional.of("PENDING"), Optional.empty())).thenReturn(List.of(sampleTask));
+		when(taskRepository.findTasks(Optional.of("PENDING"), TaskService.DEFAULT_PAGE_SIZE, Optional.empty(), List.of()))
+			.thenReturn(new TaskPage(List.of(sampleTask), null));
 
-		List<Task> result = taskService.findAll(Optional.of("PENDING"), Optional.empty());
+		TaskPage result = taskService.findAll(Optional.of("PENDING"), Optional.empty(), Optional.empty(), Optional.empty());
 
-		assertFalse(result.isEmpty());
-		assertEquals("PENDING", result.get(0).getStatus());
+		assertFalse(result.getItems().isEmpty());
+		assertEquals("PENDING", result.getItems().get(0).getStatus());
+	}
+
+	@Test // Status filter is normalised before querying the index
+	void shouldNormalizeStatusFilter() {
+		when(taskRepository.findTasks(Optional.of("IN_PROGRESS"), 10, Optional.empty(), List.of()))
+			.thenReturn(new TaskPage(List.of(sampleTask), null));
+
+		TaskPage result = taskService.findAll(Optional.of(" in_progress "), Optional.of(10), Optional.empty(), Optional.empty());
+
+		assertEquals(1, result.getItems().size());
+	}
+
+	@Test // Cursor is passed through to the repository
+	void shouldPassNextTokenToRepository() {
+		when(taskRepository.findTasks(Optional.empty(), 2, Optional.of("cursor"), List.of()))
+			.thenReturn(new TaskPage(List.of(sampleTask), "next"));
+
+		TaskPage result = taskService.findAll(Optional.empty(), Optional.of(2), Optional.of("cursor"), Optional.empty());
+
+		assertTrue(result.hasNext());
+		assertEquals("next", result.getNextToken());
+	}
+
+	@Test // Page size out of range
+	void shouldRejectInvalidPageSize() {
+		assertThrows(IllegalArgumentException.class,
+				() -> taskService.findAll(Optional.empty(), Optional.of(0), Optional.empty(), Optional.empty()));
+		assertThrows(IllegalArgumentException.class,
+				() -> taskService.findAll(Optional.empty(), Optional.of(TaskService.MAX_PAGE_SIZE + 1), Optional.empty(), Optional.empty()));
+	}
+
+	@Test // Full listing flattens scanned pages
+	void shouldStreamAllTasks() {
+		Task other = new Task();
+		other.setId("456");
+		when(taskRepository.scanAllPages()).thenReturn(Stream.of(List.of(sampleTask), List.of(other)));
+
+		try (Stream<Task> tasks = taskService.streamAll()) {
+			assertEquals(List.of("123", "456"), tasks.map(Task::getId).collect(Collectors.toList()));
+		}
 	}
 
 	@Test // Get Task by ID
@@ -98,11 +181,20 @@ class TaskServiceTest {
 
 	@Test // Create Task
 	void shouldCreateTask() {
-		doNothing().when(taskRepository).saveTask(sampleTask);
+		doNothing().when(taskRepository).createTask(sampleTask);
 
 		taskService.create(sampleTask);
 
-		verify(taskRepository, times(1)).saveTask(sampleTask);
+		verify(taskRepository, times(1)).createTask(sampleTask);
+	}
+
+	@Test // Status is stored upper-cased
+	void shouldNormalizeStatusOnCreate() {
+		sampleTask.setStatus("pending");
+
+		Task created = taskService.create(sampleTask);
+
+		assertEquals("PENDING", created.getStatus());
 	}
 
 	@Test // Null Task on Create
@@ -110,6 +202,100 @@ class TaskServiceTest {
 		assertThrows(IllegalArgumentException.class, () -> taskService.create(null));
 	}
 
+	@Test // Batch save assigns ids to new tasks
+	void shouldAssignIdsAndNormalizeStatusInBatch() {
+		Task fresh = new Task();
+		fresh.setTitle("New");
+		fresh.setStatus("done");
+		List<Task> batch = List.of(sampleTask, fresh);
+		when(taskAsyncRepository.saveTasks(batch))
+			.thenReturn(CompletableFuture.completedFuture(
+					List.of(TaskWriteResult.written("123"), TaskWriteResult.written("new"))));
+
+		List<TaskWriteResult> results = taskService.saveAll(batch).join();
+
+		assertEquals(2, results.size());
+		assertNotNull(fresh.getId());
+		assertEquals("DONE", fresh.getStatus());
+		assertEquals("123", sampleTask.getId());
+	}
+
+	@Test // Batch save with transactional counters writes each task with its counter change
+	void shouldWriteBatchTaskByTaskWhenCountingStatuses() {
+		List<Task> batch = List.of(sampleTask);
+		when(taskRepository.countsStatuses()).thenReturn(true);
+		when(taskRepository.saveTasksCounted(batch))
+			.thenReturn(CompletableFuture.completedFuture(List.of(TaskWriteResult.written("123"))));
+
+		assertEquals(1, taskService.saveAll(batch).join().size());
+		verify(taskAsyncRepository, never()).saveTasks(any());
+	}
+
+	@Test // Duplicate ids in a batch
+	void shouldRejectDuplicateIdsInBatch() {
+		Task duplicate = new Task();
+		duplicate.setId("123");
+
+		assertThrows(IllegalArgumentException.class, () -> taskService.saveAll(List.of(sampleTask, duplicate)));
+	}
+
+	@Test // Empty batch
+	void shouldRejectEmptyBatch() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.saveAll(List.of()));
+	}
+
+	@Test // Multi-get keeps request order and marks missing ids
+	void shouldLookUpDistinctIdsInRequestOrder() {
+		when(taskAsyncRepository.getTasks(List.of("999", "123")))
+			.thenReturn(CompletableFuture.completedFuture(Map.of("123", TaskLookupResult.found(sampleTask))));
+
+		List<TaskLookupResult> results = taskService.findByIds(List.of("999", "123", "999")).join();
+
+		assertEquals(2, results.size());
+		assertEquals("999", results.get(0).getId());
+		assertEquals(TaskLookupResult.Status.NOT_FOUND, results.get(0).getStatus());
+		assertEquals(TaskLookupResult.Status.FOUND, results.get(1).getStatus());
+		assertEquals("Unit Test", results.get(1).getTask().getTitle());
+	}
+
+	@Test // Blank id in multi-get
+	void shouldRejectBlankIdInLookup() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.findByIds(List.of("123", " ")));
+	}
+
+	@Test // patch sets, removes and normalises
+	void shouldPatchOnlySuppliedFields() {
+		Map<String, Object> changes = new LinkedHashMap<>();
+		changes.put("status", " done ");
+		changes.put("description", null);
+		Task patched = new Task();
+		patched.setId("123");
+		patched.setStatus("DONE");
+		Map<String, String> expected = new LinkedHashMap<>();
+		expected.put("status", "DONE");
+		expected.put("description", null);
+		when(taskRepository.patchTask("123", expected)).thenReturn(Optional.of(patched));
+
+		Task result = taskService.patch("123", changes);
+
+		assertEquals("DONE", result.getStatus());
+		verify(taskRepository).patchTask("123", expected);
+	}
+
+	@Test // patch of unknown field
+	void shouldRejectUnknownPatchField() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.patch("123", Map.of("priority", "HIGH")));
+		assertThrows(IllegalArgumentException.class, () -> taskService.patch("123", Map.of("id", "456")));
+		assertThrows(IllegalArgumentException.class, () -> taskService.patch("123", Map.of()));
+	}
+
+	@Test // patch of missing task
+	void shouldThrowWhenPatchingMissingTask() {
+		when(taskRepository.patchTask("999", Map.of("title", "New"))).thenReturn(Optional.empty());
+
+		assertThrows(NoSuchElementException.class, () -> taskService.patch("999", Map.of("title", "New")));
+	}
+
 	@Test // delete task
 	void shouldDeleteTask() {
 		doNothing().when(taskRepository).deleteTask("123");
@@ -0,0 +1,58 @@
+package com.kishore.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kishore.taskmanager.config.DynamoProperties;
+import com.kishore.taskmanager.model.TaskStats;
+import com.kishore.taskmanager.repository.TaskRepository;
+import com.kishore.taskmanager.repository.TaskStatsRepository;
+
+class TaskStatsServiceTest {
+
+	private TaskRepository taskRepository;
+	private TaskStatsRepository statsRepository;
+
+	@BeforeEach
+	void setup() {
+		taskRepository = mock(TaskRepository.class);
+		statsRepository = mock(TaskStatsRepository.class);
+	}
+
+	@Test
+	void shouldReplaceCountersWithScannedCounts() {
+		Map<String, Long> counted = Map.of("DONE", 4L, "PENDING", 1L);
+		when(statsRepository.getStats()).thenReturn(new TaskStats(Map.of("DONE", 5L)));
+		when(taskRepository.countByStatus()).thenReturn(counted);
+
+		TaskStats stats = service(DynamoProperties.Stats.Maintenance.TRANSACTIONAL).reconcile();
+
+		verify(statsRepository).replaceCounts(counted);
+		assertEquals(5, stats.getTotal());
+	}
+
+	@Test
+	void shouldRefuseStatsThatAreNotMaintained() {
+		TaskStatsService service = service(DynamoProperties.Stats.Maintenance.NONE);
+
+		assertThrows(NoSuchElementException.class, service::getStats);
+		assertThrows(NoSuchElementException.class, service::reconcile);
+		verifyNoInteractions(taskRepository, statsRepository);
+	}
+
+	private TaskStatsService service(DynamoProperties.Stats.Maintenance maintenance) {
+		DynamoProperties props = new DynamoProperties();
+		props.getStats().setMaintenance(maintenance);
+		return new TaskStatsService(taskRepository, statsRepository, props);
+	}
+}